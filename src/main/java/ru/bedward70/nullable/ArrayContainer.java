@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A sorted array of positions.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (200 lines)
+ * @checkstyle MagicNumberCheck (200 lines)
+ */
+final class ArrayContainer implements PositionContainer {
+
+    /**
+     * The low 16 bits of positions, ascending.
+     */
+    private final char[] values;
+
+    /**
+     * Constructor.
+     *
+     * @param values The low 16 bits of positions, ascending.
+     */
+    ArrayContainer(final char[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Returns the container of the set bits.
+     * @param words The words of a chunk.
+     * @param cardinality The number of set bits.
+     * @return The container.
+     */
+    static ArrayContainer of(final long[] words, final int cardinality) {
+        final char[] values = new char[cardinality];
+        int count = 0;
+        for (int idx = 0; idx < words.length; ++idx) {
+            long word = words[idx];
+            while (word != 0L) {
+                values[count] = (char) ((idx << 6)
+                    + Long.numberOfTrailingZeros(word));
+                ++count;
+                word &= word - 1L;
+            }
+        }
+        return new ArrayContainer(values);
+    }
+
+    @Override
+    public int cardinality() {
+        return this.values.length;
+    }
+
+    @Override
+    public boolean contains(final int low) {
+        return Arrays.binarySearch(this.values, (char) low) >= 0;
+    }
+
+    @Override
+    public int rank(final int low) {
+        final int idx = Arrays.binarySearch(this.values, (char) low);
+        return idx >= 0
+            ? idx + 1
+            : -idx - 1;
+    }
+
+    @Override
+    public int select(final int rank) {
+        return this.values[rank];
+    }
+
+    @Override
+    public void words(final long[] words) {
+        for (final char value : this.values) {
+            words[value >>> 6] |= 1L << value;
+        }
+    }
+
+    @Override
+    public void forEach(final int base, final IntConsumer consumer) {
+        for (final char value : this.values) {
+            consumer.accept(base | value);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A plain bitmap of positions.
+ * The number of set bits before each block of eight words is kept
+ * aside, so rank and select look at no more than eight words.
+ *
+ * @since 0.02
+ *
+ * @checkstyle MagicNumberCheck (200 lines)
+ */
+final class BitmapContainer implements PositionContainer {
+
+    /**
+     * The words.
+     */
+    private final long[] bits;
+
+    /**
+     * Words in a block.
+     */
+    private static final int BLOCK = 8;
+
+    /**
+     * The number of set bits before each block, and in total.
+     */
+    private final int[] ranks;
+
+    /**
+     * Constructor.
+     *
+     * @param bits The words.
+     */
+    BitmapContainer(final long[] bits) {
+        this.bits = bits;
+        final int blocks = (bits.length + BitmapContainer.BLOCK - 1)
+            / BitmapContainer.BLOCK;
+        this.ranks = new int[blocks + 1];
+        for (int idx = 0; idx < bits.length; ++idx) {
+            this.ranks[idx / BitmapContainer.BLOCK + 1] +=
+                Long.bitCount(bits[idx]);
+        }
+        for (int idx = 0; idx < blocks; ++idx) {
+            this.ranks[idx + 1] += this.ranks[idx];
+        }
+    }
+
+    @Override
+    public int cardinality() {
+        return this.ranks[this.ranks.length - 1];
+    }
+
+    @Override
+    public boolean contains(final int low) {
+        return (this.bits[low >>> 6] & 1L << low) != 0L;
+    }
+
+    @Override
+    public int rank(final int low) {
+        final int word = low >>> 6;
+        int result = this.ranks[word / BitmapContainer.BLOCK];
+        for (int idx = word - word % BitmapContainer.BLOCK; idx < word;
+            ++idx) {
+            result += Long.bitCount(this.bits[idx]);
+        }
+        return result + Long.bitCount(
+            this.bits[low >>> 6] & -1L >>> (63 - (low & 63))
+        );
+    }
+
+    @Override
+    public int select(final int rank) {
+        int block = Arrays.binarySearch(
+            this.ranks, 0, this.ranks.length - 1, rank
+        );
+        if (block < 0) {
+            block = -block - 2;
+        }
+        while (this.ranks[block + 1] == this.ranks[block]) {
+            ++block;
+        }
+        int left = rank - this.ranks[block];
+        int idx = block * BitmapContainer.BLOCK;
+        while (Long.bitCount(this.bits[idx]) <= left) {
+            left -= Long.bitCount(this.bits[idx]);
+            ++idx;
+        }
+        long word = this.bits[idx];
+        for (int skip = 0; skip < left; ++skip) {
+            word &= word - 1L;
+        }
+        return (idx << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    @Override
+    public void words(final long[] words) {
+        System.arraycopy(this.bits, 0, words, 0, this.bits.length);
+    }
+
+    @Override
+    public void forEach(final int base, final IntConsumer consumer) {
+        for (int idx = 0; idx < this.bits.length; ++idx) {
+            long word = this.bits[idx];
+            while (word != 0L) {
+                consumer.accept(
+                    base | (idx << 6) + Long.numberOfTrailingZeros(word)
+                );
+                word &= word - 1L;
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A thread-safe map from primitive long keys to values which may be
+ * known absent.
+ * Keys are spread over stripes, each a {@link LongNullableMap} guarded
+ * by its own lock, so threads working on different stripes do not wait
+ * for each other.
+ *
+ * @param <V> the type of values
+ * @since 0.02
+ */
+public final class ConcurrentLongNullableMap<V> {
+
+    /**
+     * Multiplier choosing the stripe from the top bits of a key.
+     */
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The stripes.
+     */
+    private final LongNullableMap<V>[] stripes;
+
+    /**
+     * The lock of each stripe.
+     */
+    private final StampedLock[] locks;
+
+    /**
+     * The shift choosing the stripe.
+     */
+    private final int shift;
+
+    /**
+     * Constructor with four stripes per processor.
+     */
+    public ConcurrentLongNullableMap() {
+        this(Runtime.getRuntime().availableProcessors() << 2);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param stripes The number of stripes, rounded up to a power of two.
+     */
+    public ConcurrentLongNullableMap(final int stripes) {
+        if (stripes < 1 || stripes > 1 << 16) {
+            throw new IllegalArgumentException(
+                String.format("Illegal number of stripes: %d", stripes)
+            );
+        }
+        final int count = Integer.highestOneBit(stripes - 1 | 1) << 1;
+        this.stripes = ConcurrentLongNullableMap.stripes(count);
+        this.locks = new StampedLock[count];
+        for (int idx = 0; idx < count; ++idx) {
+            this.locks[idx] = new StampedLock();
+        }
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(count);
+    }
+
+    /**
+     * Returns the number of keys, present and known to be absent.
+     * The count is exact only while no thread changes the map.
+     * @return The number of keys.
+     */
+    public int size() {
+        int result = 0;
+        for (int idx = 0; idx < this.stripes.length; ++idx) {
+            final long stamp = this.locks[idx].readLock();
+            try {
+                result += this.stripes[idx].size();
+            } finally {
+                this.locks[idx].unlockRead(stamp);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the key is known, present or absent.
+     * @param key The key.
+     * @return True if the key is known.
+     */
+    public boolean contains(final long key) {
+        final int idx = this.stripe(key);
+        final long stamp = this.locks[idx].readLock();
+        final boolean result;
+        try {
+            result = this.stripes[idx].contains(key);
+        } finally {
+            this.locks[idx].unlockRead(stamp);
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the key has a present value.
+     * @param key The key.
+     * @return True if the value is present.
+     */
+    public boolean isPresent(final long key) {
+        final int idx = this.stripe(key);
+        final long stamp = this.locks[idx].readLock();
+        final boolean result;
+        try {
+            result = this.stripes[idx].isPresent(key);
+        } finally {
+            this.locks[idx].unlockRead(stamp);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of the key or default value, without allocating.
+     * @param key The key.
+     * @param other The value to return if the key is absent or missing.
+     * @return The value, if present, otherwise the default value.
+     */
+    public V getOr(final long key, final V other) {
+        final int idx = this.stripe(key);
+        final long stamp = this.locks[idx].readLock();
+        final V result;
+        try {
+            result = this.stripes[idx].getOr(key, other);
+        } finally {
+            this.locks[idx].unlockRead(stamp);
+        }
+        return result;
+    }
+
+    /**
+     * Points the view at the value of the key, without allocating.
+     * The view has no value if the key is absent or missing.
+     * @param key The key.
+     * @param view The view, confined to the calling thread.
+     * @return The view.
+     */
+    public NullableCursor<V> get(final long key, final NullableCursor<V> view) {
+        return view.point(this.getOr(key, null));
+    }
+
+    /**
+     * Associates the key with the value.
+     * @param key The key.
+     * @param value The value, null marks the key as known to be absent.
+     * @return This map.
+     */
+    public ConcurrentLongNullableMap<V> put(final long key, final V value) {
+        final int idx = this.stripe(key);
+        final long stamp = this.locks[idx].writeLock();
+        try {
+            this.stripes[idx].put(key, value);
+        } finally {
+            this.locks[idx].unlockWrite(stamp);
+        }
+        return this;
+    }
+
+    /**
+     * Associates the key with the value of the container.
+     * An absent container marks the key as known to be absent.
+     * @param key The key.
+     * @param value The container.
+     * @return This map.
+     */
+    public ConcurrentLongNullableMap<V> put(final long key,
+        final Nullable<? extends V> value) {
+        return this.put(key, value.get());
+    }
+
+    /**
+     * Forgets the key.
+     * @param key The key.
+     * @return True if the key was known.
+     */
+    public boolean remove(final long key) {
+        final int idx = this.stripe(key);
+        final long stamp = this.locks[idx].writeLock();
+        final boolean result;
+        try {
+            result = this.stripes[idx].remove(key);
+        } finally {
+            this.locks[idx].unlockWrite(stamp);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the stripe of the key.
+     * @param key The key.
+     * @return The index of the stripe.
+     */
+    private int stripe(final long key) {
+        return (int) ((key * ConcurrentLongNullableMap.GOLDEN) >>> this.shift);
+    }
+
+    /**
+     * Creates empty stripes.
+     * @param count The number of stripes.
+     * @param <V> The type of values.
+     * @return The stripes.
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> LongNullableMap<V>[] stripes(final int count) {
+        final LongNullableMap<V>[] result =
+            (LongNullableMap<V>[]) new LongNullableMap<?>[count];
+        for (int idx = 0; idx < count; ++idx) {
+            result[idx] = new LongNullableMap<>();
+        }
+        return result;
+    }
+}
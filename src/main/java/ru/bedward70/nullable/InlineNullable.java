@@ -0,0 +1,55 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a static method whose body is a single {@link Nullable} chain,
+ * to be compiled by {@link InlineNullableProcessor} into a method of
+ * the same signature in the sibling class {@code <Class>Inlined}, with
+ * plain locals and null checks instead of containers and lambdas.
+ * <p>
+ * The body must be one {@code return} of, or in a void method one
+ * statement with, a chain starting with {@code Nullable.of(..)} or
+ * {@code new Nullable<>(..)}, followed by {@code map}, {@code filter},
+ * {@code mapOrGet}, {@code ifPresent} and {@code ifNotPresent}, and
+ * ending with {@code get}, {@code getOr}, {@code getOrGet},
+ * {@code isPresent} or nothing. Arguments are lambdas, or method
+ * references of the form {@code Type::method} or {@code Type::new}.
+ * Lambda bodies are copied into the generated class, so they may refer
+ * only to parameters, imported types and non-private static members of
+ * the class.
+ *
+ * @since 0.02
+ */
+@Documented
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.METHOD)
+public @interface InlineNullable {
+}
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates, for each class with methods marked by {@link InlineNullable},
+ * the sibling class {@code <Class>Inlined} with the same methods, where
+ * {@link Nullable} chains are replaced by plain locals and null checks.
+ * The processor is not registered as a service, so javac does not load
+ * it for every build with this library on the classpath; a build opts in
+ * by naming it, with {@code -processor
+ * ru.bedward70.nullable.InlineNullableProcessor} or the
+ * {@code annotationProcessors} of the Maven compiler plugin.
+ *
+ * @since 0.02
+ */
+@SupportedAnnotationTypes("ru.bedward70.nullable.InlineNullable")
+public final class InlineNullableProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations,
+        final RoundEnvironment round) {
+        final Map<TypeElement, List<ExecutableElement>> classes =
+            new LinkedHashMap<>(0);
+        for (final Element element
+            : round.getElementsAnnotatedWith(InlineNullable.class)) {
+            classes.computeIfAbsent(
+                (TypeElement) element.getEnclosingElement(),
+                key -> new ArrayList<>(0)
+            ).add((ExecutableElement) element);
+        }
+        for (final Map.Entry<TypeElement, List<ExecutableElement>> entry
+            : classes.entrySet()) {
+            this.generate(entry.getKey(), entry.getValue());
+        }
+        return true;
+    }
+
+    /**
+     * Generates the inlined class, or reports errors of the methods.
+     * @param owner The class.
+     * @param methods The marked methods.
+     */
+    private void generate(final TypeElement owner,
+        final List<ExecutableElement> methods) {
+        final Set<String> imports = new LinkedHashSet<>(0);
+        final StringBuilder body = new StringBuilder(256);
+        boolean valid = true;
+        if (owner.getNestingKind() != NestingKind.TOP_LEVEL) {
+            this.processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                "@InlineNullable methods must be in a top level class",
+                owner
+            );
+            valid = false;
+        }
+        for (final ExecutableElement method : methods) {
+            try {
+                final InlinedChain chain =
+                    new InlinedChain(this.processingEnv, method);
+                imports.addAll(chain.imports());
+                body.append('\n').append(chain.source());
+            } catch (final IllegalArgumentException ex) {
+                this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    String.format("@InlineNullable: %s", ex.getMessage()),
+                    method
+                );
+                valid = false;
+            }
+        }
+        if (valid) {
+            this.write(owner, imports, body);
+        }
+    }
+
+    /**
+     * Writes the source of the inlined class.
+     * @param owner The class.
+     * @param imports The imports.
+     * @param body The methods.
+     */
+    private void write(final TypeElement owner, final Set<String> imports,
+        final CharSequence body) {
+        final String pkg = this.processingEnv.getElementUtils()
+            .getPackageOf(owner).getQualifiedName().toString();
+        final String name = String.format("%sInlined", owner.getSimpleName());
+        final StringBuilder out = new StringBuilder(512);
+        if (!pkg.isEmpty()) {
+            out.append("package ").append(pkg).append(";\n\n");
+        }
+        for (final String imp : imports) {
+            out.append(imp).append('\n');
+        }
+        if (!pkg.isEmpty()) {
+            out.append("import static ").append(owner.getQualifiedName())
+                .append(".*;\n");
+        }
+        out.append("\n/**\n * Methods of {@code ").append(owner.getSimpleName())
+            .append("} with inlined Nullable chains.\n")
+            .append(" * Generated by ")
+            .append(InlineNullableProcessor.class.getName())
+            .append(".\n */\n");
+        if (owner.getModifiers().contains(Modifier.PUBLIC)) {
+            out.append("public ");
+        }
+        out.append("final class ").append(name).append(" {\n\n")
+            .append("    private ").append(name).append("() {\n    }\n")
+            .append(body)
+            .append("}\n");
+        try (Writer writer = this.processingEnv.getFiler().createSourceFile(
+            String.format("%s.%s", pkg, name).replaceFirst("^\\.", ""), owner
+        ).openWriter()) {
+            writer.write(out.toString());
+        } catch (final IOException ex) {
+            this.processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                String.format("@InlineNullable: %s", ex.getMessage()),
+                owner
+            );
+        }
+    }
+}
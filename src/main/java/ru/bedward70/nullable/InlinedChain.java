@@ -0,0 +1,1057 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import com.sun.source.tree.BlockTree;
+import com.sun.source.tree.ClassTree;
+import com.sun.source.tree.CompilationUnitTree;
+import com.sun.source.tree.ExpressionStatementTree;
+import com.sun.source.tree.ExpressionTree;
+import com.sun.source.tree.IdentifierTree;
+import com.sun.source.tree.ImportTree;
+import com.sun.source.tree.LambdaExpressionTree;
+import com.sun.source.tree.MemberReferenceTree;
+import com.sun.source.tree.MemberSelectTree;
+import com.sun.source.tree.MethodInvocationTree;
+import com.sun.source.tree.MethodTree;
+import com.sun.source.tree.NewClassTree;
+import com.sun.source.tree.ParameterizedTypeTree;
+import com.sun.source.tree.ParenthesizedTree;
+import com.sun.source.tree.ReturnTree;
+import com.sun.source.tree.StatementTree;
+import com.sun.source.tree.Tree;
+import com.sun.source.tree.VariableTree;
+import com.sun.source.util.SourcePositions;
+import com.sun.source.util.TreePath;
+import com.sun.source.util.TreeScanner;
+import com.sun.source.util.Trees;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.TypeParameterElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * A {@link Nullable} chain of a method marked by {@link InlineNullable},
+ * translated into plain locals and null checks.
+ * The types of locals come from explicitly typed lambda parameters,
+ * method references, method parameters and the return type, since
+ * the trees are not attributed during annotation processing.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (700 lines)
+ * @checkstyle ClassDataAbstractionCouplingCheck (700 lines)
+ * @checkstyle ClassFanOutComplexityCheck (700 lines)
+ */
+final class InlinedChain {
+
+    /**
+     * Methods of a chain returning a container.
+     */
+    private static final Set<String> STEPS = new HashSet<>(
+        Arrays.asList("map", "filter", "mapOrGet", "ifPresent", "ifNotPresent")
+    );
+
+    /**
+     * Methods ending a chain.
+     */
+    private static final Set<String> TERMINALS = new HashSet<>(
+        Arrays.asList("get", "getOr", "getOrGet", "isPresent")
+    );
+
+    /**
+     * Indentation of the method body.
+     */
+    private static final String INDENT = "        ";
+
+    /**
+     * The element utilities.
+     */
+    private final Elements elements;
+
+    /**
+     * The type utilities.
+     */
+    private final Types types;
+
+    /**
+     * The compilation unit of the method.
+     */
+    private final CompilationUnitTree unit;
+
+    /**
+     * The source positions.
+     */
+    private final SourcePositions positions;
+
+    /**
+     * The method.
+     */
+    private final ExecutableElement method;
+
+    /**
+     * The tree of the method.
+     */
+    private final MethodTree tree;
+
+    /**
+     * The calls of the chain after its source, in order.
+     */
+    private final List<MethodInvocationTree> calls;
+
+    /**
+     * The expression of the source of the chain.
+     */
+    private final ExpressionTree origin;
+
+    /**
+     * Is the chain a statement of a void method.
+     */
+    private final boolean statement;
+
+    /**
+     * The prefix of generated local names.
+     */
+    private final String prefix;
+
+    /**
+     * Constructor.
+     *
+     * @param env The processing environment.
+     * @param method The method.
+     * @throws IllegalArgumentException If the method is not supported.
+     */
+    InlinedChain(final ProcessingEnvironment env,
+        final ExecutableElement method) {
+        final Trees trees = Trees.instance(env);
+        final TreePath path = trees.getPath(method);
+        if (path == null) {
+            throw new IllegalArgumentException(
+                "Source of the method is not available"
+            );
+        }
+        if (!method.getModifiers().contains(Modifier.STATIC)) {
+            throw new IllegalArgumentException("Method must be static");
+        }
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.unit = path.getCompilationUnit();
+        this.positions = trees.getSourcePositions();
+        this.method = method;
+        this.tree = trees.getTree(method);
+        final List<? extends StatementTree> body =
+            this.tree.getBody().getStatements();
+        if (body.size() != 1) {
+            throw new IllegalArgumentException(
+                "Body must be a single statement"
+            );
+        }
+        final StatementTree single = body.get(0);
+        final ExpressionTree expression;
+        if (single instanceof ReturnTree) {
+            expression = ((ReturnTree) single).getExpression();
+            this.statement = false;
+        } else if (single instanceof ExpressionStatementTree
+            && method.getReturnType().getKind() == TypeKind.VOID) {
+            expression = ((ExpressionStatementTree) single).getExpression();
+            this.statement = true;
+        } else {
+            throw new IllegalArgumentException(
+                "Body must be a return or an expression statement"
+            );
+        }
+        this.calls = new ArrayList<>(0);
+        ExpressionTree current = InlinedChain.unwrap(expression);
+        while (!InlinedChain.origin(current)) {
+            if (!(current instanceof MethodInvocationTree)
+                || !(((MethodInvocationTree) current).getMethodSelect()
+                    instanceof MemberSelectTree)) {
+                throw new IllegalArgumentException(
+                    String.format("Unsupported expression: %s", current)
+                );
+            }
+            final MethodInvocationTree call = (MethodInvocationTree) current;
+            this.calls.add(0, call);
+            current = InlinedChain.unwrap(
+                ((MemberSelectTree) call.getMethodSelect()).getExpression()
+            );
+        }
+        if (current instanceof NewClassTree) {
+            this.origin = ((NewClassTree) current).getArguments().get(0);
+        } else {
+            this.origin =
+                ((MethodInvocationTree) current).getArguments().get(0);
+        }
+        this.check();
+        final Set<String> names = new HashSet<>(0);
+        new TreeScanner<Void, Void>() {
+            @Override
+            public Void visitIdentifier(final IdentifierTree node,
+                final Void arg) {
+                names.add(node.getName().toString());
+                return super.visitIdentifier(node, arg);
+            }
+
+            @Override
+            public Void visitVariable(final VariableTree node, final Void arg) {
+                names.add(node.getName().toString());
+                return super.visitVariable(node, arg);
+            }
+        }.scan(this.tree, null);
+        String local = "value";
+        while (InlinedChain.taken(names, local)) {
+            local = "_" + local;
+        }
+        this.prefix = local;
+    }
+
+    /**
+     * Returns the source of the inlined method.
+     * @return The source.
+     */
+    public String source() {
+        final StringBuilder out = new StringBuilder(256);
+        out.append("    ");
+        if (this.method.getModifiers().contains(Modifier.PUBLIC)) {
+            out.append("public ");
+        }
+        out.append("static ");
+        if (!this.method.getTypeParameters().isEmpty()) {
+            out.append('<')
+                .append(
+                    this.method.getTypeParameters().stream()
+                        .map(InlinedChain::declaration)
+                        .collect(Collectors.joining(", "))
+                )
+                .append("> ");
+        }
+        out.append(this.method.getReturnType()).append(' ')
+            .append(this.method.getSimpleName()).append('(');
+        final List<? extends VariableElement> params =
+            this.method.getParameters();
+        for (int idx = 0; idx < params.size(); ++idx) {
+            if (idx > 0) {
+                out.append(", ");
+            }
+            final String type = params.get(idx).asType().toString();
+            out.append("final ");
+            if (this.method.isVarArgs() && idx == params.size() - 1) {
+                out.append(type, 0, type.length() - 2).append("...");
+            } else {
+                out.append(type);
+            }
+            out.append(' ').append(params.get(idx).getSimpleName());
+        }
+        out.append(')');
+        if (!this.method.getThrownTypes().isEmpty()) {
+            out.append(" throws ").append(
+                this.method.getThrownTypes().stream()
+                    .map(TypeMirror::toString)
+                    .collect(Collectors.joining(", "))
+            );
+        }
+        out.append(" {\n");
+        this.body(out);
+        out.append("    }\n");
+        return out.toString();
+    }
+
+    /**
+     * Returns the imports of the compilation unit of the method.
+     * @return The import declarations.
+     */
+    public List<String> imports() {
+        final List<String> result = new ArrayList<>(0);
+        for (final ImportTree imp : this.unit.getImports()) {
+            result.add(imp.toString().trim());
+        }
+        return result;
+    }
+
+    /**
+     * Writes the body of the inlined method.
+     * @param out The output.
+     */
+    private void body(final StringBuilder out) {
+        int count = 0;
+        String var = this.prefix + count;
+        String type = this.output(-1);
+        InlinedChain.line(
+            out, 0, "%s %s = (%s);", type, var, this.text(this.origin)
+        );
+        final int steps = this.steps();
+        for (int idx = 0; idx < steps; ++idx) {
+            final String name = this.name(idx);
+            final ExpressionTree arg = this.argument(idx);
+            if ("map".equals(name)) {
+                ++count;
+                final String next = this.prefix + count;
+                final String output = this.output(idx);
+                InlinedChain.line(out, 0, "%s %s = null;", output, next);
+                InlinedChain.line(out, 0, "if (%s != null) {", var);
+                InlinedChain.line(
+                    out, 1, "%s = %s;", next, this.function(out, arg, var, type)
+                );
+                InlinedChain.line(out, 0, "}");
+                var = next;
+                type = output;
+            } else if ("filter".equals(name)) {
+                InlinedChain.line(out, 0, "if (%s != null) {", var);
+                InlinedChain.line(
+                    out, 1, "if (!%s) {", this.function(out, arg, var, type)
+                );
+                InlinedChain.line(out, 2, "%s = null;", var);
+                InlinedChain.line(out, 1, "}");
+                InlinedChain.line(out, 0, "}");
+            } else if ("mapOrGet".equals(name)) {
+                InlinedChain.line(out, 0, "if (%s == null) {", var);
+                InlinedChain.line(out, 1, "%s = %s;", var, this.supplier(arg));
+                InlinedChain.line(out, 0, "}");
+            } else if ("ifPresent".equals(name)) {
+                InlinedChain.line(out, 0, "if (%s != null) {", var);
+                this.consumer(out, arg, var, type);
+                InlinedChain.line(out, 0, "}");
+            } else {
+                InlinedChain.line(out, 0, "if (%s == null) {", var);
+                this.runnable(out, arg);
+                InlinedChain.line(out, 0, "}");
+            }
+        }
+        this.terminal(out, var, count + 1);
+    }
+
+    /**
+     * Writes the end of the inlined method.
+     * @param out The output.
+     * @param var The local with the value.
+     * @param count The index of the next generated local.
+     */
+    private void terminal(final StringBuilder out, final String var,
+        final int count) {
+        final String name = this.steps() < this.calls.size()
+            ? this.name(this.calls.size() - 1)
+            : "";
+        if ("get".equals(name)) {
+            InlinedChain.line(out, 0, "return %s;", var);
+        } else if ("getOr".equals(name)) {
+            final String other = this.prefix + count;
+            InlinedChain.line(
+                out, 0, "final %s %s = (%s);", this.terminalType(), other,
+                this.text(this.argument(this.calls.size() - 1))
+            );
+            InlinedChain.line(
+                out, 0, "return %s == null ? %s : %s;", var, other, var
+            );
+        } else if ("getOrGet".equals(name)) {
+            InlinedChain.line(out, 0, "if (%s == null) {", var);
+            InlinedChain.line(
+                out, 1, "%s = %s;", var,
+                this.supplier(this.argument(this.calls.size() - 1))
+            );
+            InlinedChain.line(out, 0, "}");
+            InlinedChain.line(out, 0, "return %s;", var);
+        } else if ("isPresent".equals(name)) {
+            InlinedChain.line(out, 0, "return %s != null;", var);
+        } else if (!this.statement) {
+            InlinedChain.line(
+                out, 0, "return %s.of(%s);", Nullable.class.getName(), var
+            );
+        }
+    }
+
+    /**
+     * Checks the calls of the chain are supported.
+     */
+    private void check() {
+        final int steps = this.steps();
+        for (int idx = 0; idx < this.calls.size(); ++idx) {
+            final String name = this.name(idx);
+            final int args = this.calls.get(idx).getArguments().size();
+            final boolean known = idx < steps
+                && InlinedChain.STEPS.contains(name)
+                || idx == steps && InlinedChain.TERMINALS.contains(name);
+            if (!known) {
+                throw new IllegalArgumentException(
+                    String.format("Unsupported Nullable method: %s", name)
+                );
+            }
+            final int expected = "get".equals(name)
+                || "isPresent".equals(name) ? 0 : 1;
+            if (args != expected) {
+                throw new IllegalArgumentException(
+                    String.format("Unsupported arguments of %s", name)
+                );
+            }
+        }
+        if (this.statement && steps < this.calls.size()) {
+            throw new IllegalArgumentException(
+                "A statement chain must not end with a value"
+            );
+        }
+    }
+
+    /**
+     * Returns the number of calls before the terminal one.
+     * @return The number of calls returning a container.
+     */
+    private int steps() {
+        final int size = this.calls.size();
+        return size > 0 && InlinedChain.TERMINALS.contains(this.name(size - 1))
+            ? size - 1
+            : size;
+    }
+
+    /**
+     * Returns the name of the called method.
+     * @param idx The index of the call.
+     * @return The name.
+     */
+    private String name(final int idx) {
+        return ((MemberSelectTree) this.calls.get(idx).getMethodSelect())
+            .getIdentifier().toString();
+    }
+
+    /**
+     * Returns the argument of a call.
+     * @param idx The index of the call.
+     * @return The argument.
+     */
+    private ExpressionTree argument(final int idx) {
+        return this.calls.get(idx).getArguments().get(0);
+    }
+
+    /**
+     * Returns the type of the local created by the source or a map.
+     * @param idx The index of the map, or -1 for the source.
+     * @return The type.
+     */
+    private String output(final int idx) {
+        String result;
+        if (idx < 0) {
+            result = this.parameter(this.origin);
+        } else {
+            final ExpressionTree arg = this.argument(idx);
+            result = arg instanceof MemberReferenceTree
+                ? this.reference((MemberReferenceTree) arg, 1).output
+                : null;
+        }
+        String pass = null;
+        boolean open = true;
+        boolean implicit = false;
+        final int steps = this.steps();
+        for (int next = idx + 1; result == null && open && next < steps;
+            ++next) {
+            final String name = this.name(next);
+            final String declared = "map".equals(name) || "filter".equals(name)
+                || "ifPresent".equals(name)
+                ? this.input(this.argument(next))
+                : null;
+            if ("map".equals(name)) {
+                result = declared;
+                open = false;
+            } else if (pass == null) {
+                pass = declared;
+                implicit = declared == null && !"mapOrGet".equals(name)
+                    && !"ifNotPresent".equals(name);
+            }
+        }
+        if (result == null && open) {
+            result = this.terminalType();
+        }
+        if (result == null && open && pass == null && !implicit
+            && this.untyped()) {
+            result = Object.class.getName();
+        }
+        if (result == null) {
+            result = pass;
+        }
+        if (result == null) {
+            throw new IllegalArgumentException(
+                String.join(
+                    " ",
+                    "Cannot infer the type of a value,",
+                    "use an explicitly typed lambda"
+                )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Returns the type of the value at the end of the chain.
+     * @return The type, or null if unknown.
+     */
+    private String terminalType() {
+        final TypeMirror ret = this.method.getReturnType();
+        final String name = this.steps() < this.calls.size()
+            ? this.name(this.calls.size() - 1)
+            : "";
+        String result = null;
+        if ("get".equals(name) || "getOr".equals(name)
+            || "getOrGet".equals(name)) {
+            result = this.boxed(ret);
+        } else if (name.isEmpty() && !this.statement
+            && ret.getKind() == TypeKind.DECLARED) {
+            final List<? extends TypeMirror> args =
+                ((DeclaredType) ret).getTypeArguments();
+            if (args.isEmpty()) {
+                result = Object.class.getName();
+            } else if (args.get(0).getKind() == TypeKind.WILDCARD) {
+                final TypeMirror bound =
+                    ((WildcardType) args.get(0)).getExtendsBound();
+                result = bound == null
+                    ? Object.class.getName()
+                    : bound.toString();
+            } else {
+                result = args.get(0).toString();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks the value at the end of the chain is not used as typed.
+     * @return True for {@code isPresent} and statement chains.
+     */
+    private boolean untyped() {
+        return this.statement || this.steps() < this.calls.size()
+            && "isPresent".equals(this.name(this.calls.size() - 1));
+    }
+
+    /**
+     * Returns the type of a source being a parameter of the method.
+     * @param expression The source expression.
+     * @return The type, or null if the source is not a parameter.
+     */
+    private String parameter(final ExpressionTree expression) {
+        String result = null;
+        if (expression instanceof IdentifierTree) {
+            final String name =
+                ((IdentifierTree) expression).getName().toString();
+            for (final VariableElement param : this.method.getParameters()) {
+                if (param.getSimpleName().contentEquals(name)) {
+                    result = this.boxed(param.asType());
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the declared type of the value taken by a function.
+     * @param arg The function.
+     * @return The type, or null if not declared.
+     */
+    private String input(final ExpressionTree arg) {
+        String result = null;
+        if (arg instanceof LambdaExpressionTree) {
+            final List<? extends VariableTree> params =
+                ((LambdaExpressionTree) arg).getParameters();
+            if (params.size() == 1 && params.get(0).getType() != null) {
+                result = this.text(params.get(0).getType());
+            }
+        } else if (arg instanceof MemberReferenceTree) {
+            result = this.reference((MemberReferenceTree) arg, 1).input;
+        }
+        return result;
+    }
+
+    /**
+     * Writes the binding of a function parameter, and returns the
+     * expression of its result.
+     * @param out The output.
+     * @param arg The function.
+     * @param var The local with the value.
+     * @param type The type of the local.
+     * @return The expression.
+     */
+    private String function(final StringBuilder out, final ExpressionTree arg,
+        final String var, final String type) {
+        final String result;
+        if (arg instanceof LambdaExpressionTree) {
+            final LambdaExpressionTree lambda = (LambdaExpressionTree) arg;
+            if (lambda.getParameters().size() != 1
+                || lambda.getBodyKind()
+                    != LambdaExpressionTree.BodyKind.EXPRESSION) {
+                throw new IllegalArgumentException(
+                    String.format("Unsupported function: %s", arg)
+                );
+            }
+            this.bind(out, lambda.getParameters().get(0), var, type);
+            result = String.format("(%s)", this.text(lambda.getBody()));
+        } else if (arg instanceof MemberReferenceTree) {
+            result = this.reference((MemberReferenceTree) arg, 1).call(var);
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Unsupported function: %s", arg)
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Writes a consumer applied to the value.
+     * @param out The output.
+     * @param arg The consumer.
+     * @param var The local with the value.
+     * @param type The type of the local.
+     */
+    private void consumer(final StringBuilder out, final ExpressionTree arg,
+        final String var, final String type) {
+        if (arg instanceof LambdaExpressionTree
+            && ((LambdaExpressionTree) arg).getParameters().size() == 1) {
+            final LambdaExpressionTree lambda = (LambdaExpressionTree) arg;
+            this.bind(out, lambda.getParameters().get(0), var, type);
+            this.action(out, lambda);
+        } else if (arg instanceof MemberReferenceTree) {
+            InlinedChain.line(
+                out, 1, "%s;",
+                this.reference((MemberReferenceTree) arg, 1).call(var)
+            );
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Unsupported consumer: %s", arg)
+            );
+        }
+    }
+
+    /**
+     * Writes a runnable.
+     * @param out The output.
+     * @param arg The runnable.
+     */
+    private void runnable(final StringBuilder out, final ExpressionTree arg) {
+        if (arg instanceof LambdaExpressionTree
+            && ((LambdaExpressionTree) arg).getParameters().isEmpty()) {
+            this.action(out, (LambdaExpressionTree) arg);
+        } else if (arg instanceof MemberReferenceTree) {
+            InlinedChain.line(
+                out, 1, "%s;",
+                this.reference((MemberReferenceTree) arg, 0).call("")
+            );
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Unsupported runnable: %s", arg)
+            );
+        }
+    }
+
+    /**
+     * Returns the expression of a supplier.
+     * @param arg The supplier.
+     * @return The expression.
+     */
+    private String supplier(final ExpressionTree arg) {
+        final String result;
+        if (arg instanceof LambdaExpressionTree
+            && ((LambdaExpressionTree) arg).getParameters().isEmpty()
+            && ((LambdaExpressionTree) arg).getBodyKind()
+                == LambdaExpressionTree.BodyKind.EXPRESSION) {
+            result = String.format(
+                "(%s)", this.text(((LambdaExpressionTree) arg).getBody())
+            );
+        } else if (arg instanceof MemberReferenceTree) {
+            result = this.reference((MemberReferenceTree) arg, 0).call("");
+        } else {
+            throw new IllegalArgumentException(
+                String.format("Unsupported supplier: %s", arg)
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Writes the body of a consumer or runnable lambda.
+     * @param out The output.
+     * @param lambda The lambda.
+     */
+    private void action(final StringBuilder out,
+        final LambdaExpressionTree lambda) {
+        if (lambda.getBodyKind() == LambdaExpressionTree.BodyKind.EXPRESSION) {
+            InlinedChain.line(out, 1, "%s;", this.text(lambda.getBody()));
+        } else {
+            final boolean[] returns = new boolean[1];
+            new TreeScanner<Void, Void>() {
+                @Override
+                public Void visitReturn(final ReturnTree node, final Void arg) {
+                    returns[0] = true;
+                    return null;
+                }
+
+                @Override
+                public Void visitLambdaExpression(
+                    final LambdaExpressionTree node, final Void arg) {
+                    return null;
+                }
+
+                @Override
+                public Void visitClass(final ClassTree node, final Void arg) {
+                    return null;
+                }
+            }.scan(lambda.getBody(), null);
+            if (returns[0]) {
+                throw new IllegalArgumentException(
+                    "Lambda bodies with return statements are not supported"
+                );
+            }
+            InlinedChain.line(
+                out, 1, "%s", this.text((BlockTree) lambda.getBody())
+            );
+        }
+    }
+
+    /**
+     * Writes the lambda parameter as a local with the value.
+     * @param out The output.
+     * @param param The lambda parameter.
+     * @param var The local with the value.
+     * @param type The type of the local.
+     */
+    private void bind(final StringBuilder out, final VariableTree param,
+        final String var, final String type) {
+        InlinedChain.line(
+            out, 1, "final %s %s = %s;",
+            param.getType() == null ? type : this.text(param.getType()),
+            param.getName(), var
+        );
+    }
+
+    /**
+     * Resolves a method reference of the form {@code Type::method}.
+     * @param ref The method reference.
+     * @param arity The number of arguments of the functional interface.
+     * @return The resolved reference.
+     */
+    private Reference reference(final MemberReferenceTree ref,
+        final int arity) {
+        final String qualifier = this.text(ref.getQualifierExpression());
+        final TypeElement owner = this.type(qualifier);
+        final String name = ref.getName().toString();
+        final Reference result;
+        if (owner == null) {
+            if (ref.getMode() == MemberReferenceTree.ReferenceMode.NEW) {
+                throw new IllegalArgumentException(
+                    String.format("Unknown type of reference: %s", ref)
+                );
+            }
+            result = new Reference(
+                null, null,
+                var -> String.format("%s.%s(%s)", qualifier, name, var)
+            );
+        } else if (ref.getMode() == MemberReferenceTree.ReferenceMode.NEW) {
+            if (arity != 0) {
+                throw new IllegalArgumentException(
+                    String.format("Unsupported constructor reference: %s", ref)
+                );
+            }
+            result = new Reference(
+                null, qualifier, var -> String.format("new %s()", qualifier)
+            );
+        } else {
+            final List<ExecutableElement> instance = arity == 1
+                ? this.methods(owner, name, false, 0)
+                : new ArrayList<>(0);
+            final List<ExecutableElement> statics =
+                this.methods(owner, name, true, arity);
+            if (instance.size() == 1 && statics.isEmpty()) {
+                result = new Reference(
+                    qualifier, this.boxed(instance.get(0).getReturnType()),
+                    var -> String.format("%s.%s()", var, name)
+                );
+            } else if (statics.size() == 1 && instance.isEmpty()) {
+                final ExecutableElement target = statics.get(0);
+                result = new Reference(
+                    arity == 1
+                        ? this.boxed(target.getParameters().get(0).asType())
+                        : null,
+                    this.boxed(target.getReturnType()),
+                    var -> String.format("%s.%s(%s)", qualifier, name, var)
+                );
+            } else {
+                throw new IllegalArgumentException(
+                    String.format("Ambiguous or unknown reference: %s", ref)
+                );
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the methods of a type.
+     * @param owner The type.
+     * @param name The name of methods.
+     * @param statics True for static methods, false for instance ones.
+     * @param arity The number of parameters.
+     * @return The methods.
+     */
+    private List<ExecutableElement> methods(final TypeElement owner,
+        final String name, final boolean statics, final int arity) {
+        return ElementFilter.methodsIn(this.elements.getAllMembers(owner))
+            .stream()
+            .filter(exec -> exec.getSimpleName().contentEquals(name))
+            .filter(
+                exec -> exec.getModifiers().contains(Modifier.STATIC) == statics
+            )
+            .filter(exec -> exec.getParameters().size() == arity)
+            .filter(exec -> !exec.getModifiers().contains(Modifier.PRIVATE))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Resolves a type name as written in the compilation unit.
+     * @param name The name.
+     * @return The type, or null if the name is not a type.
+     */
+    private TypeElement type(final String name) {
+        final List<String> candidates = new ArrayList<>(0);
+        if (name.indexOf('.') >= 0) {
+            candidates.add(name);
+        } else {
+            final TypeElement enclosing =
+                (TypeElement) this.method.getEnclosingElement();
+            candidates.add(
+                String.format("%s.%s", enclosing.getQualifiedName(), name)
+            );
+            for (final ImportTree imp : this.unit.getImports()) {
+                final String qualified =
+                    imp.getQualifiedIdentifier().toString();
+                if (!imp.isStatic()
+                    && qualified.endsWith(String.format(".%s", name))) {
+                    candidates.add(qualified);
+                } else if (!imp.isStatic() && qualified.endsWith(".*")) {
+                    candidates.add(
+                        qualified.substring(0, qualified.length() - 1)
+                            .concat(name)
+                    );
+                }
+            }
+            if (this.unit.getPackageName() != null) {
+                candidates.add(
+                    String.format("%s.%s", this.unit.getPackageName(), name)
+                );
+            }
+            candidates.add(String.format("java.lang.%s", name));
+        }
+        TypeElement result = null;
+        for (final String candidate : candidates) {
+            if (result == null) {
+                result = this.elements.getTypeElement(candidate);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the name of a type, boxed if primitive.
+     * @param type The type.
+     * @return The name.
+     */
+    private String boxed(final TypeMirror type) {
+        return type.getKind().isPrimitive()
+            ? this.types.boxedClass((PrimitiveType) type)
+                .getQualifiedName().toString()
+            : type.toString();
+    }
+
+    /**
+     * Returns the source text of a tree.
+     * @param node The tree.
+     * @return The text.
+     */
+    private String text(final Tree node) {
+        final CharSequence content;
+        try {
+            content = this.unit.getSourceFile().getCharContent(true);
+        } catch (final IOException ex) {
+            throw new IllegalArgumentException("Source is not readable", ex);
+        }
+        return content.subSequence(
+            (int) this.positions.getStartPosition(this.unit, node),
+            (int) this.positions.getEndPosition(this.unit, node)
+        ).toString();
+    }
+
+    /**
+     * Checks the expression is a source of a chain.
+     * @param expression The expression.
+     * @return True for {@code Nullable.of(..)} and {@code new Nullable<>(..)}.
+     */
+    private static boolean origin(final ExpressionTree expression) {
+        final boolean result;
+        if (expression instanceof NewClassTree) {
+            final NewClassTree create = (NewClassTree) expression;
+            Tree type = create.getIdentifier();
+            if (type instanceof ParameterizedTypeTree) {
+                type = ((ParameterizedTypeTree) type).getType();
+            }
+            result = create.getArguments().size() == 1
+                && create.getClassBody() == null
+                && InlinedChain.nullable(type.toString());
+        } else if (expression instanceof MethodInvocationTree
+            && ((MethodInvocationTree) expression).getMethodSelect()
+                instanceof MemberSelectTree) {
+            final MethodInvocationTree call = (MethodInvocationTree) expression;
+            final MemberSelectTree select =
+                (MemberSelectTree) call.getMethodSelect();
+            final String owner = select.getExpression().toString();
+            result = call.getArguments().size() == 1
+                && "of".contentEquals(select.getIdentifier())
+                && InlinedChain.nullable(owner);
+        } else {
+            result = false;
+        }
+        return result;
+    }
+
+    /**
+     * Checks the name is the simple or qualified name of {@link Nullable}.
+     * @param name The name.
+     * @return True if it names {@link Nullable}.
+     */
+    private static boolean nullable(final String name) {
+        return name.equals(Nullable.class.getSimpleName())
+            || name.equals(Nullable.class.getName());
+    }
+
+    /**
+     * Removes parentheses around an expression.
+     * @param expression The expression.
+     * @return The expression inside.
+     */
+    private static ExpressionTree unwrap(final ExpressionTree expression) {
+        ExpressionTree result = expression;
+        while (result instanceof ParenthesizedTree) {
+            result = ((ParenthesizedTree) result).getExpression();
+        }
+        return result;
+    }
+
+    /**
+     * Checks a name or a numbered name with the prefix is taken.
+     * @param names The names.
+     * @param prefix The prefix.
+     * @return True if taken.
+     */
+    private static boolean taken(final Set<String> names, final String prefix) {
+        return names.stream().anyMatch(name -> name.startsWith(prefix));
+    }
+
+    /**
+     * Returns the declaration of a type parameter.
+     * @param param The type parameter.
+     * @return The declaration.
+     */
+    private static String declaration(final TypeParameterElement param) {
+        final List<String> bounds = param.getBounds().stream()
+            .map(TypeMirror::toString)
+            .filter(bound -> !Object.class.getName().equals(bound))
+            .collect(Collectors.toList());
+        return bounds.isEmpty()
+            ? param.getSimpleName().toString()
+            : String.format(
+                "%s extends %s",
+                param.getSimpleName(), String.join(" & ", bounds)
+            );
+    }
+
+    /**
+     * Writes a line of the method body.
+     * @param out The output.
+     * @param depth The nesting depth.
+     * @param format The format of the line.
+     * @param args The arguments of the format.
+     */
+    private static void line(final StringBuilder out, final int depth,
+        final String format, final Object... args) {
+        out.append(InlinedChain.INDENT);
+        for (int idx = 0; idx < depth; ++idx) {
+            out.append("    ");
+        }
+        out.append(String.format(format, args)).append('\n');
+    }
+
+    /**
+     * A resolved method reference.
+     *
+     * @since 0.02
+     */
+    private static final class Reference {
+
+        /**
+         * The type of the argument, or null without arguments.
+         */
+        private final String input;
+
+        /**
+         * The type of the result.
+         */
+        private final String output;
+
+        /**
+         * The call for an argument.
+         */
+        private final Function<String, String> call;
+
+        /**
+         * Constructor.
+         *
+         * @param input The type of the argument, or null without arguments.
+         * @param output The type of the result.
+         * @param call The call for an argument.
+         */
+        Reference(final String input, final String output,
+            final Function<String, String> call) {
+            this.input = input;
+            this.output = output;
+            this.call = call;
+        }
+
+        /**
+         * Returns the call for an argument.
+         * @param var The argument.
+         * @return The call expression.
+         */
+        String call(final String var) {
+            return this.call.apply(var);
+        }
+    }
+}
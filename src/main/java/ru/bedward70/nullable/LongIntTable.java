@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+
+/**
+ * An open-addressing table from long keys to non-negative int values.
+ * Reads of a table that is no longer changed are thread-safe.
+ *
+ * @since 0.02
+ */
+final class LongIntTable {
+
+    /**
+     * Golden ratio multiplier for hashing.
+     */
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The keys.
+     */
+    private long[] keys;
+
+    /**
+     * The values, -1 for a free slot.
+     */
+    private int[] values;
+
+    /**
+     * The number of keys.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     *
+     * @param expected The expected number of keys.
+     */
+    LongIntTable(final int expected) {
+        this.keys = new long[LongNullableMap.capacity(expected)];
+        this.values = new int[this.keys.length];
+        Arrays.fill(this.values, -1);
+    }
+
+    /**
+     * Returns the value of the key.
+     * @param key The key.
+     * @return The value, or -1 if the key is missing.
+     */
+    int get(final long key) {
+        return this.values[this.slot(key)];
+    }
+
+    /**
+     * Associates the key with the value unless the key is known.
+     * @param key The key.
+     * @param value The non-negative value.
+     * @return The previous value, or -1 if the key was missing.
+     */
+    int putIfAbsent(final long key, final int value) {
+        int slot = this.slot(key);
+        final int result = this.values[slot];
+        if (result < 0) {
+            if ((this.size + 1) * 4L >= this.values.length * 3L) {
+                this.resize();
+                slot = this.slot(key);
+            }
+            this.keys[slot] = key;
+            this.values[slot] = value;
+            ++this.size;
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the value of a known key.
+     * @param key The key.
+     * @param value The non-negative value.
+     */
+    void replace(final long key, final int value) {
+        this.values[this.slot(key)] = value;
+    }
+
+    /**
+     * Returns the slot of the key, or the free slot for it.
+     * @param key The key.
+     * @return The slot.
+     */
+    private int slot(final long key) {
+        final int mask = this.values.length - 1;
+        int idx = (int) ((key * LongIntTable.GOLDEN) >>> 32) & mask;
+        while (this.values[idx] >= 0 && this.keys[idx] != key) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    /**
+     * Doubles the capacity.
+     */
+    private void resize() {
+        final long[] okeys = this.keys;
+        final int[] ovalues = this.values;
+        this.keys = new long[LongNullableMap.grown(okeys.length)];
+        this.values = new int[this.keys.length];
+        Arrays.fill(this.values, -1);
+        for (int idx = 0; idx < ovalues.length; ++idx) {
+            if (ovalues[idx] >= 0) {
+                final int slot = this.slot(okeys[idx]);
+                this.keys[slot] = okeys[idx];
+                this.values[slot] = ovalues[idx];
+            }
+        }
+    }
+}
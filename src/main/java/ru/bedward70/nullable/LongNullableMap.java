@@ -0,0 +1,291 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+/**
+ * A map from primitive long keys to values which may be known absent.
+ * It tells a key with a present value, a key known to be absent
+ * and a missing key apart without a map node, a boxed key or
+ * a {@link Nullable} per entry: keys and raw values sit in flat arrays
+ * with open addressing, a free slot holds null and every known-absent
+ * key holds one shared sentinel. Values are read through
+ * {@link #getOr(long, Object)} or a caller's {@link NullableCursor}.
+ * The map is not thread-safe, see {@link ConcurrentLongNullableMap}.
+ *
+ * @param <V> the type of values
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class LongNullableMap<V> {
+
+    /**
+     * The maximum capacity.
+     */
+    static final int MAX = 1 << 30;
+
+    /**
+     * The value of a key known to be absent.
+     */
+    static final Object ABSENT = new Object();
+
+    /**
+     * Default capacity.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * Golden ratio multiplier for hashing.
+     */
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The keys.
+     */
+    private long[] keys;
+
+    /**
+     * The values, {@link #ABSENT} for a known-absent key,
+     * null for a free slot.
+     */
+    private Object[] values;
+
+    /**
+     * The number of keys.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public LongNullableMap() {
+        this(LongNullableMap.CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param expected The expected number of keys.
+     */
+    public LongNullableMap(final int expected) {
+        this.keys = new long[LongNullableMap.capacity(expected)];
+        this.values = new Object[this.keys.length];
+    }
+
+    /**
+     * Returns the number of keys, present and known to be absent.
+     * @return The number of keys.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether the key is known, present or absent.
+     * @param key The key.
+     * @return True if the key is known.
+     */
+    public boolean contains(final long key) {
+        return this.values[this.slot(key)] != null;
+    }
+
+    /**
+     * Checks whether the key has a present value.
+     * @param key The key.
+     * @return True if the value is present.
+     */
+    public boolean isPresent(final long key) {
+        final Object value = this.values[this.slot(key)];
+        return value != null && value != LongNullableMap.ABSENT;
+    }
+
+    /**
+     * Returns the value of the key or default value, without allocating.
+     * @param key The key.
+     * @param other The value to return if the key is absent or missing.
+     * @return The value, if present, otherwise the default value.
+     */
+    public V getOr(final long key, final V other) {
+        return LongNullableMap.valueOr(this.values[this.slot(key)], other);
+    }
+
+    /**
+     * Points the view at the value of the key, without allocating.
+     * The view has no value if the key is absent or missing, use
+     * {@link #contains(long)} to tell them apart.
+     * @param key The key.
+     * @param view The view.
+     * @return The view.
+     */
+    public NullableCursor<V> get(final long key, final NullableCursor<V> view) {
+        return view.point(this.getOr(key, null));
+    }
+
+    /**
+     * Associates the key with the value.
+     * @param key The key.
+     * @param value The value, null marks the key as known to be absent.
+     * @return This map.
+     */
+    public LongNullableMap<V> put(final long key, final V value) {
+        int slot = this.slot(key);
+        if (this.values[slot] == null) {
+            if ((this.size + 1) * 4L >= this.values.length * 3L) {
+                this.resize();
+                slot = this.slot(key);
+            }
+            this.keys[slot] = key;
+            ++this.size;
+        }
+        this.values[slot] = value == null
+            ? LongNullableMap.ABSENT
+            : value;
+        return this;
+    }
+
+    /**
+     * Associates the key with the value of the container.
+     * An absent container marks the key as known to be absent.
+     * @param key The key.
+     * @param value The container.
+     * @return This map.
+     */
+    public LongNullableMap<V> put(final long key,
+        final Nullable<? extends V> value) {
+        return this.put(key, value.get());
+    }
+
+    /**
+     * Forgets the key.
+     * @param key The key.
+     * @return True if the key was known.
+     */
+    public boolean remove(final long key) {
+        int gap = this.slot(key);
+        final boolean result = this.values[gap] != null;
+        if (result) {
+            final int mask = this.values.length - 1;
+            int idx = (gap + 1) & mask;
+            while (this.values[idx] != null) {
+                final int home = LongNullableMap.home(this.keys[idx], mask);
+                if (((idx - home) & mask) >= ((idx - gap) & mask)) {
+                    this.keys[gap] = this.keys[idx];
+                    this.values[gap] = this.values[idx];
+                    gap = idx;
+                }
+                idx = (idx + 1) & mask;
+            }
+            this.values[gap] = null;
+            --this.size;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the capacity for the expected number of keys.
+     * @param expected The expected number of keys.
+     * @return The capacity, a power of two.
+     */
+    static int capacity(final int expected) {
+        if (expected < 0 || expected >= LongNullableMap.MAX / 4 * 3) {
+            throw new IllegalArgumentException(
+                String.format("Illegal expected size: %d", expected)
+            );
+        }
+        int capacity = LongNullableMap.CAPACITY;
+        while (capacity * 3L < expected * 4L) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Returns the grown capacity.
+     * @param capacity The current capacity.
+     * @return The doubled capacity.
+     * @throws IllegalStateException If the capacity is the maximum.
+     */
+    static int grown(final int capacity) {
+        if (capacity >= LongNullableMap.MAX) {
+            throw new IllegalStateException(
+                String.format("Capacity %d is exhausted", capacity)
+            );
+        }
+        return capacity << 1;
+    }
+
+    /**
+     * Returns the stored value or default value.
+     * @param value The stored value, null if missing.
+     * @param other A default value.
+     * @param <V> The type of values.
+     * @return The value, if present, otherwise the default value.
+     */
+    static <V> V valueOr(final Object value, final V other) {
+        return value == null || value == LongNullableMap.ABSENT
+            ? other
+            : (V) value;
+    }
+
+    /**
+     * Returns the preferred slot of the key.
+     * @param key The key.
+     * @param mask The mask of slots.
+     * @return The slot.
+     */
+    private static int home(final long key, final int mask) {
+        return (int) ((key * LongNullableMap.GOLDEN) >>> 32) & mask;
+    }
+
+    /**
+     * Returns the slot of the key, or the free slot for it.
+     * @param key The key.
+     * @return The slot.
+     */
+    private int slot(final long key) {
+        final int mask = this.values.length - 1;
+        int idx = LongNullableMap.home(key, mask);
+        while (this.values[idx] != null && this.keys[idx] != key) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    /**
+     * Doubles the capacity.
+     */
+    private void resize() {
+        final long[] okeys = this.keys;
+        final Object[] ovalues = this.values;
+        this.keys = new long[LongNullableMap.grown(okeys.length)];
+        this.values = new Object[this.keys.length];
+        for (int idx = 0; idx < ovalues.length; ++idx) {
+            if (ovalues[idx] != null) {
+                final int slot = this.slot(okeys[idx]);
+                this.keys[slot] = okeys[idx];
+                this.values[slot] = ovalues[idx];
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@
 package ru.bedward70.nullable;
 
 import java.util.Objects;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -41,6 +42,11 @@ import java.util.stream.Stream;
  */
 public class Nullable<X> {
 
+    /**
+     * The shared container without a value.
+     */
+    private static final Nullable<?> NULL = new Nullable<>(null);
+
     /**
      * The value.
      */
@@ -55,6 +61,28 @@ public class Nullable<X> {
         this.value = value;
     }
 
+    /**
+     * Returns a container with the value.
+     * Null values share one container, so absent results never allocate.
+     * @param value A nullable value.
+     * @param <X> The type of the value.
+     * @return The {@code Nullable} container.
+     */
+    public static <X> Nullable<X> of(final X value) {
+        return value == null
+            ? Nullable.empty()
+            : new Nullable<>(value);
+    }
+
+    /**
+     * Returns the shared container without a value.
+     * @param <X> The type of the value.
+     * @return The null {@code Nullable}.
+     */
+    public static <X> Nullable<X> empty() {
+        return (Nullable<X>) Nullable.NULL;
+    }
+
     /**
      * Returns the value.
      * @return The nullable value.
@@ -107,7 +135,7 @@ public class Nullable<X> {
         if (!this.isPresent() || predicate.test(this.value)) {
             result = this;
         } else {
-            result = new Nullable<>(null);
+            result = Nullable.empty();
         }
         return result;
     }
@@ -122,7 +150,7 @@ public class Nullable<X> {
     public <Y> Nullable<Y> map(final Function<? super X, ? extends Y> mapper) {
         final Nullable<Y> result;
         if (this.isPresent()) {
-            result = new Nullable<>(mapper.apply(this.value));
+            result = Nullable.of(mapper.apply(this.value));
         } else {
             result = (Nullable<Y>) this;
         }
@@ -141,7 +169,7 @@ public class Nullable<X> {
         if (this.isPresent()) {
             result = this;
         } else {
-            result = new Nullable<>(supplier.get());
+            result = Nullable.of(supplier.get());
         }
         return result;
     }
@@ -184,6 +212,35 @@ public class Nullable<X> {
             : Stream.empty();
     }
 
+    /**
+     * Appends the text of {@link #toString()} to the builder.
+     * @param builder The builder.
+     * @return The builder.
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        return this.appendTo(builder, StringBuilder::append);
+    }
+
+    /**
+     * Appends the text of {@link #toString()} to the builder,
+     * rendering a present value with the renderer.
+     * @param builder The builder.
+     * @param renderer The renderer appending a value to the builder.
+     * @return The builder.
+     * @throws NullPointerException If value is present and the renderer is null.
+     */
+    public StringBuilder appendTo(final StringBuilder builder,
+        final BiConsumer<StringBuilder, ? super X> renderer) {
+        if (this.isPresent()) {
+            builder.append("Nullable[");
+            renderer.accept(builder, this.value);
+            builder.append(']');
+        } else {
+            builder.append("Nullable.null");
+        }
+        return builder;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hashCode(this.value);
@@ -204,8 +261,6 @@ public class Nullable<X> {
 
     @Override
     public String toString() {
-        return this.isPresent()
-            ? String.format("Nullable[%s]", this.value)
-            : "Nullable.null";
+        return this.appendTo(new StringBuilder()).toString();
     }
 }
@@ -0,0 +1,372 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * An immutable, compressed set of positions of present values.
+ * Positions are split into chunks of 65536, and each chunk is kept as
+ * a sorted array, a plain bitmap or a list of runs, whichever is smallest.
+ * Very sparse and very dense presence therefore cost far less than
+ * one bit per row.
+ * Columns do not hold a bitmap while they grow, as appends would rebuild
+ * a chunk each time; they hand out a snapshot of their presence instead.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (400 lines)
+ * @checkstyle MagicNumberCheck (400 lines)
+ */
+public final class NullableBitmap {
+
+    /**
+     * Words in a chunk.
+     */
+    private static final int WORDS = 1024;
+
+    /**
+     * The high 16 bits of positions of each chunk, ascending.
+     */
+    private final char[] keys;
+
+    /**
+     * The containers of chunks.
+     */
+    private final PositionContainer[] containers;
+
+    /**
+     * The number of positions before each chunk, and in total.
+     */
+    private final long[] ranks;
+
+    /**
+     * Constructor.
+     *
+     * @param keys The high 16 bits of positions of each chunk.
+     * @param containers The containers of chunks.
+     */
+    private NullableBitmap(
+        final char[] keys, final PositionContainer[] containers
+    ) {
+        this.keys = keys;
+        this.containers = containers;
+        this.ranks = new long[containers.length + 1];
+        for (int idx = 0; idx < containers.length; ++idx) {
+            this.ranks[idx + 1] = this.ranks[idx]
+                + containers[idx].cardinality();
+        }
+    }
+
+    /**
+     * Returns a bitmap of the positions.
+     * @param positions The non-negative positions, in any order.
+     * @return The bitmap.
+     */
+    public static NullableBitmap of(final int... positions) {
+        final int[] sorted = positions.clone();
+        Arrays.sort(sorted);
+        if (sorted.length > 0 && sorted[0] < 0) {
+            throw new IllegalArgumentException(
+                String.format("Illegal position: %d", sorted[0])
+            );
+        }
+        final Chunks chunks = new Chunks();
+        final long[] words = new long[NullableBitmap.WORDS];
+        int idx = 0;
+        while (idx < sorted.length) {
+            final int key = sorted[idx] >>> 16;
+            Arrays.fill(words, 0L);
+            while (idx < sorted.length && sorted[idx] >>> 16 == key) {
+                words[(sorted[idx] & 0xFFFF) >>> 6] |= 1L << sorted[idx];
+                ++idx;
+            }
+            chunks.add(key, words);
+        }
+        return chunks.bitmap();
+    }
+
+    /**
+     * Returns a bitmap of the set bits of plain presence words.
+     * @param presence The presence words, bit i of word j being row 64j+i.
+     * @param size The number of rows.
+     * @return The bitmap.
+     */
+    static NullableBitmap of(final long[] presence, final int size) {
+        final Chunks chunks = new Chunks();
+        final long[] words = new long[NullableBitmap.WORDS];
+        final int used = (size + 63) >>> 6;
+        for (int start = 0; start < used; start += NullableBitmap.WORDS) {
+            Arrays.fill(words, 0L);
+            System.arraycopy(
+                presence, start, words, 0,
+                Math.min(NullableBitmap.WORDS, used - start)
+            );
+            if (start + NullableBitmap.WORDS >= used && (size & 63) != 0) {
+                words[used - 1 - start] &= -1L >>> (64 - (size & 63));
+            }
+            chunks.add(start / NullableBitmap.WORDS, words);
+        }
+        return chunks.bitmap();
+    }
+
+    /**
+     * Returns the number of positions.
+     * @return The number of positions.
+     */
+    public long cardinality() {
+        return this.ranks[this.containers.length];
+    }
+
+    /**
+     * Checks whether the position is in the bitmap.
+     * @param position The position.
+     * @return True if the position is present.
+     */
+    public boolean contains(final int position) {
+        final int idx = this.chunk(position);
+        return idx >= 0 && this.containers[idx].contains(position & 0xFFFF);
+    }
+
+    /**
+     * Counts the positions not greater than the position.
+     * @param position The position.
+     * @return The count.
+     */
+    public long rank(final int position) {
+        final int idx = this.chunk(position);
+        final long result;
+        if (idx >= 0) {
+            result = this.ranks[idx]
+                + this.containers[idx].rank(position & 0xFFFF);
+        } else {
+            result = this.ranks[-idx - 1];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position of the given rank.
+     * @param rank The zero-based rank.
+     * @return The position.
+     * @throws IndexOutOfBoundsException If there are not so many positions.
+     */
+    public int select(final long rank) {
+        if (rank < 0L || rank >= this.cardinality()) {
+            throw new IndexOutOfBoundsException(
+                String.format(
+                    "Rank %d, cardinality %d", rank, this.cardinality()
+                )
+            );
+        }
+        int idx = Arrays.binarySearch(this.ranks, rank);
+        if (idx < 0) {
+            idx = -idx - 2;
+        }
+        return this.keys[idx] << 16
+            | this.containers[idx].select((int) (rank - this.ranks[idx]));
+    }
+
+    /**
+     * Performs the consumer with each position in ascending order.
+     * @param consumer The consumer.
+     */
+    public void forEach(final IntConsumer consumer) {
+        for (int idx = 0; idx < this.containers.length; ++idx) {
+            this.containers[idx].forEach(this.keys[idx] << 16, consumer);
+        }
+    }
+
+    /**
+     * Returns the positions present in either bitmap.
+     * @param other The other bitmap.
+     * @return The union.
+     */
+    public NullableBitmap or(final NullableBitmap other) {
+        final Chunks chunks = new Chunks();
+        final long[] words = new long[NullableBitmap.WORDS];
+        final long[] scratch = new long[NullableBitmap.WORDS];
+        int left = 0;
+        int right = 0;
+        while (left < this.keys.length || right < other.keys.length) {
+            final int lkey = left < this.keys.length
+                ? this.keys[left]
+                : Integer.MAX_VALUE;
+            final int rkey = right < other.keys.length
+                ? other.keys[right]
+                : Integer.MAX_VALUE;
+            Arrays.fill(words, 0L);
+            if (lkey <= rkey) {
+                this.containers[left].words(words);
+                ++left;
+            }
+            if (rkey <= lkey) {
+                Arrays.fill(scratch, 0L);
+                other.containers[right].words(scratch);
+                for (int idx = 0; idx < words.length; ++idx) {
+                    words[idx] |= scratch[idx];
+                }
+                ++right;
+            }
+            chunks.add(Math.min(lkey, rkey), words);
+        }
+        return chunks.bitmap();
+    }
+
+    /**
+     * Returns the positions present in both bitmaps.
+     * @param other The other bitmap.
+     * @return The intersection.
+     */
+    public NullableBitmap and(final NullableBitmap other) {
+        final Chunks chunks = new Chunks();
+        final long[] words = new long[NullableBitmap.WORDS];
+        final long[] scratch = new long[NullableBitmap.WORDS];
+        int left = 0;
+        int right = 0;
+        while (left < this.keys.length && right < other.keys.length) {
+            final int lkey = this.keys[left];
+            final int rkey = other.keys[right];
+            if (lkey < rkey) {
+                ++left;
+            } else if (rkey < lkey) {
+                ++right;
+            } else {
+                Arrays.fill(words, 0L);
+                Arrays.fill(scratch, 0L);
+                this.containers[left].words(words);
+                other.containers[right].words(scratch);
+                for (int idx = 0; idx < words.length; ++idx) {
+                    words[idx] &= scratch[idx];
+                }
+                chunks.add(lkey, words);
+                ++left;
+                ++right;
+            }
+        }
+        return chunks.bitmap();
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("NullableBitmap{")
+            .append("cardinality=").append(this.cardinality())
+            .append(", chunks=").append(this.containers.length)
+            .append('}')
+            .toString();
+    }
+
+    /**
+     * Finds the chunk of the position.
+     * @param position The position.
+     * @return The index of the chunk, or -(insertion point) - 1.
+     */
+    private int chunk(final int position) {
+        final int result;
+        if (position < 0) {
+            result = -1;
+        } else {
+            result = Arrays.binarySearch(this.keys, (char) (position >>> 16));
+        }
+        return result;
+    }
+
+    /**
+     * Collector of chunks in ascending order of keys.
+     *
+     * @since 0.02
+     */
+    private static final class Chunks {
+
+        /**
+         * The keys, grown as needed.
+         */
+        private char[] keys;
+
+        /**
+         * The number of keys.
+         */
+        private int count;
+
+        /**
+         * The containers.
+         */
+        private final List<PositionContainer> containers;
+
+        /**
+         * Constructor.
+         */
+        Chunks() {
+            this.keys = new char[1];
+            this.containers = new ArrayList<>(1);
+        }
+
+        /**
+         * Adds a chunk unless it is empty, choosing the smallest container.
+         * @param key The high 16 bits of positions.
+         * @param words The words of the chunk.
+         */
+        void add(final int key, final long[] words) {
+            int cardinality = 0;
+            int runs = 0;
+            long previous = 0L;
+            for (final long word : words) {
+                cardinality += Long.bitCount(word);
+                runs += Long.bitCount(word & ~(word << 1 | previous >>> 63));
+                previous = word;
+            }
+            if (cardinality > 0) {
+                final PositionContainer container;
+                if (runs * 2 < cardinality
+                    && runs * 4 < NullableBitmap.WORDS * 8) {
+                    container = RunContainer.of(words, runs);
+                } else if (cardinality <= NullableBitmap.WORDS * 4) {
+                    container = ArrayContainer.of(words, cardinality);
+                } else {
+                    container = new BitmapContainer(words.clone());
+                }
+                if (this.count == this.keys.length) {
+                    this.keys = Arrays.copyOf(this.keys, this.count * 2);
+                }
+                this.keys[this.count] = (char) key;
+                ++this.count;
+                this.containers.add(container);
+            }
+        }
+
+        /**
+         * Returns the bitmap of the chunks.
+         * @return The bitmap.
+         */
+        NullableBitmap bitmap() {
+            return new NullableBitmap(
+                Arrays.copyOf(this.keys, this.count),
+                this.containers.toArray(new PositionContainer[0])
+            );
+        }
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A mutable, thread-confined view of a value which may be null.
+ * One cursor can be pointed at the value of each row in turn, so loops
+ * read values with the {@link Nullable} API without a container per row.
+ * Use {@link #snapshot()} when the value escapes the loop.
+ *
+ * @param <X> the type of value
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableCursor<X> {
+
+    /**
+     * The current value.
+     */
+    private X value;
+
+    /**
+     * Constructor of a cursor without a value.
+     */
+    public NullableCursor() {
+        this(null);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param value A nullable value.
+     */
+    public NullableCursor(final X value) {
+        this.value = value;
+    }
+
+    /**
+     * Points the cursor at a value.
+     * @param next A nullable value.
+     * @return This cursor.
+     */
+    public NullableCursor<X> point(final X next) {
+        this.value = next;
+        return this;
+    }
+
+    /**
+     * Returns the value.
+     * @return The nullable value.
+     */
+    public X get() {
+        return this.value;
+    }
+
+    /**
+     * Returns the value or default value.
+     * @param other A default value.
+     * @return The value, if present, otherwise the default value.
+     */
+    public X getOr(final X other) {
+        return this.isPresent()
+            ? this.value
+            : other;
+    }
+
+    /**
+     * Returns the value or a produced value.
+     * @param supplier A supplier of a default value.
+     * @return The value, if present, otherwise the result produced by the supplying function.
+     * @throws NullPointerException If value is not present and the supplier is null.
+     */
+    public X getOrGet(final Supplier<? extends X> supplier) {
+        return this.isPresent()
+            ? this.value
+            : supplier.get();
+    }
+
+    /**
+     * If a value is non-null, returns true, otherwise false.
+     * @return True if a value is non-null, otherwise false.
+     */
+    public boolean isPresent() {
+        return this.value != null;
+    }
+
+    /**
+     * Tests the value as {@link Nullable#filter(Predicate)} would keep it.
+     * @param predicate The predicate to apply to a value.
+     * @return True if a value is present and matches the predicate.
+     * @throws NullPointerException If value is present and the predicate is null.
+     */
+    public boolean test(final Predicate<? super X> predicate) {
+        return this.isPresent() && predicate.test(this.value);
+    }
+
+    /**
+     * If a value is non-null, performs the consumer with the value,
+     * otherwise does nothing.
+     * @param consumer The consumer to be performed, if a value is present.
+     * @return This cursor.
+     * @throws NullPointerException If value is present and the consumer is null.
+     */
+    public NullableCursor<X> ifPresent(final Consumer<? super X> consumer) {
+        if (this.isPresent()) {
+            consumer.accept(this.value);
+        }
+        return this;
+    }
+
+    /**
+     * If a value is null, performs the runnable,
+     * otherwise does nothing.
+     * @param runnable The Runnable to be performed, if a value is not present.
+     * @return This cursor.
+     */
+    public NullableCursor<X> ifNotPresent(final Runnable runnable) {
+        if (!this.isPresent()) {
+            runnable.run();
+        }
+        return this;
+    }
+
+    /**
+     * Returns an immutable container with the current value.
+     * @return The {@code Nullable} container.
+     */
+    public Nullable<X> snapshot() {
+        return Nullable.of(this.value);
+    }
+
+    @Override
+    public String toString() {
+        return this.isPresent()
+            ? new StringBuilder("NullableCursor[")
+                .append(this.value).append(']').toString()
+            : "NullableCursor.null";
+    }
+}
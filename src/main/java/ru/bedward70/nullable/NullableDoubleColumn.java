@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+
+/**
+ * An append-only column of double values which may be absent.
+ * Values sit in a double[] and presence in a bitmap, so there is
+ * no boxed value or container per row.
+ * The column is not thread-safe.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class NullableDoubleColumn {
+
+    /**
+     * Default capacity.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * The values, zero for absent rows.
+     */
+    private double[] values;
+
+    /**
+     * The presence bitmap.
+     */
+    private long[] presence;
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public NullableDoubleColumn() {
+        this(NullableDoubleColumn.CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The expected number of rows.
+     */
+    public NullableDoubleColumn(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                String.format("Illegal capacity: %d", capacity)
+            );
+        }
+        this.values = new double[capacity];
+        this.presence = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Constructor over filled arrays.
+     *
+     * @param values The values, zero for absent rows.
+     * @param presence The presence bitmap.
+     * @param size The number of rows.
+     */
+    NullableDoubleColumn(final double[] values, final long[] presence, final int size) {
+        this.values = values;
+        this.presence = presence;
+        this.size = size;
+    }
+
+    /**
+     * Appends a present value.
+     * @param value The value.
+     * @return This column.
+     */
+    public NullableDoubleColumn append(final double value) {
+        this.grow();
+        this.values[this.size] = value;
+        this.presence[this.size >>> 6] |= 1L << this.size;
+        ++this.size;
+        return this;
+    }
+
+    /**
+     * Appends an absent value.
+     * @return This column.
+     */
+    public NullableDoubleColumn appendAbsent() {
+        this.grow();
+        ++this.size;
+        return this;
+    }
+
+    /**
+     * Appends the value of the container.
+     * @param value The container.
+     * @return This column.
+     */
+    public NullableDoubleColumn append(final Nullable<Double> value) {
+        return value.isPresent()
+            ? this.append(value.get().doubleValue())
+            : this.appendAbsent();
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return The number of rows.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether the row has a value.
+     * @param row The row.
+     * @return True if the value is present.
+     */
+    public boolean isPresent(final int row) {
+        this.check(row);
+        return (this.presence[row >>> 6] & 1L << row) != 0L;
+    }
+
+    /**
+     * Returns the value of the row or default value.
+     * @param row The row.
+     * @param other A default value.
+     * @return The value, if present, otherwise the default value.
+     */
+    public double getOr(final int row, final double other) {
+        return this.isPresent(row)
+            ? this.values[row]
+            : other;
+    }
+
+    /**
+     * Returns the value of the row in a container.
+     * @param row The row.
+     * @return The {@code Nullable} container.
+     */
+    public Nullable<Double> get(final int row) {
+        return this.isPresent(row)
+            ? new Nullable<>(this.values[row])
+            : Nullable.empty();
+    }
+
+    /**
+     * Returns the rows in ascending order of values, as ordered by
+     * {@link Double#compare(double, double)}.
+     * Present values are ordered by the stable radix sort of
+     * {@link NullableLongColumn} over their bits, with no comparisons,
+     * absent rows keep their order before or after them.
+     * @param first True to put absent rows first, false to put them last.
+     * @return The permutation of rows.
+     */
+    public int[] sortedIndex(final boolean first) {
+        final int[] absent = new int[this.size];
+        final int[] rows = new int[this.size];
+        final long[] keys = new long[this.size];
+        int present = 0;
+        int count = 0;
+        for (int row = 0; row < this.size; ++row) {
+            if (this.isPresent(row)) {
+                final long bits = Double.doubleToLongBits(this.values[row]);
+                rows[present] = row;
+                keys[present] = bits ^ (bits >> 63 | Long.MIN_VALUE);
+                ++present;
+            } else {
+                absent[count] = row;
+                ++count;
+            }
+        }
+        return NullableLongColumn.sorted(
+            rows, keys, present, absent, count, first
+        );
+    }
+
+    /**
+     * Checks the row index.
+     * @param row The row.
+     */
+    private void check(final int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException(
+                String.format("Row %d, size %d", row, this.size)
+            );
+        }
+    }
+
+    /**
+     * Makes room for one more row.
+     */
+    private void grow() {
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(
+                this.values,
+                Math.max(NullableDoubleColumn.CAPACITY, this.size << 1)
+            );
+        }
+        if (this.size >>> 6 == this.presence.length) {
+            this.presence = Arrays.copyOf(
+                this.presence, (this.values.length + 63) >>> 6
+            );
+        }
+    }
+}
@@ -0,0 +1,320 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * A fallback supplier with a time budget and a circuit breaker,
+ * to be passed to {@link Nullable#getOrGet(Supplier)} or
+ * {@link Nullable#mapOrGet(Supplier)}.
+ * The supplier runs on an executor; if it fails, exceeds the budget or
+ * is rejected by a saturated executor, the default value is returned
+ * instead, and a late supplier is interrupted so that it can free its
+ * executor thread. After a number of consecutive failures the breaker
+ * opens and returns the default value without calling the supplier
+ * until the cooldown passes; then one call is let through as a trial.
+ *
+ * @param <X> the type of value
+ * @since 0.02
+ */
+public final class NullableFallback<X> implements Supplier<X> {
+
+    /**
+     * Default number of consecutive failures to open the breaker.
+     */
+    private static final int THRESHOLD = 5;
+
+    /**
+     * Default cooldown in nanoseconds.
+     */
+    private static final long COOLDOWN = TimeUnit.SECONDS.toNanos(30L);
+
+    /**
+     * The closed breaker without failures.
+     */
+    private static final State CLOSED = new State(0, false, 0L);
+
+    /**
+     * The supplier of a value.
+     */
+    private final Supplier<? extends X> supplier;
+
+    /**
+     * The default value, may be null.
+     */
+    private final X other;
+
+    /**
+     * The budget in nanoseconds.
+     */
+    private final long budget;
+
+    /**
+     * The executor of the supplier.
+     */
+    private final Executor executor;
+
+    /**
+     * The number of consecutive failures to open the breaker.
+     */
+    private final int threshold;
+
+    /**
+     * The cooldown in nanoseconds.
+     */
+    private final long cooldown;
+
+    /**
+     * The clock in nanoseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The breaker state.
+     */
+    private final AtomicReference<State> state;
+
+    /**
+     * Calls exceeding the budget.
+     */
+    private final LongAdder timeouts;
+
+    /**
+     * Calls failed with an exception.
+     */
+    private final LongAdder failures;
+
+    /**
+     * Calls skipped by the open breaker.
+     */
+    private final LongAdder shorts;
+
+    /**
+     * Constructor.
+     *
+     * @param supplier The supplier of a value.
+     * @param other The default value, may be null.
+     * @param budget The budget.
+     * @param unit The unit of the budget.
+     * @param executor The executor of the supplier.
+     */
+    public NullableFallback(final Supplier<? extends X> supplier,
+        final X other, final long budget, final TimeUnit unit,
+        final Executor executor) {
+        this(
+            supplier, other, unit.toNanos(budget), executor,
+            NullableFallback.THRESHOLD, NullableFallback.COOLDOWN,
+            System::nanoTime
+        );
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param supplier The supplier of a value.
+     * @param other The default value, may be null.
+     * @param budget The budget in nanoseconds.
+     * @param executor The executor of the supplier.
+     * @param threshold The number of consecutive failures to open the breaker.
+     * @param cooldown The cooldown in nanoseconds.
+     * @param clock The clock in nanoseconds.
+     * @checkstyle ParameterNumberCheck (10 lines)
+     */
+    public NullableFallback(final Supplier<? extends X> supplier,
+        final X other, final long budget, final Executor executor,
+        final int threshold, final long cooldown, final LongSupplier clock) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal threshold: %d", threshold)
+            );
+        }
+        this.supplier = supplier;
+        this.other = other;
+        this.budget = budget;
+        this.executor = executor;
+        this.threshold = threshold;
+        this.cooldown = cooldown;
+        this.clock = clock;
+        this.state = new AtomicReference<>(NullableFallback.CLOSED);
+        this.timeouts = new LongAdder();
+        this.failures = new LongAdder();
+        this.shorts = new LongAdder();
+    }
+
+    @Override
+    public X get() {
+        final X result;
+        if (this.permitted()) {
+            result = this.call();
+        } else {
+            this.shorts.increment();
+            result = this.other;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of calls exceeding the budget.
+     * @return The count.
+     */
+    public long timeouts() {
+        return this.timeouts.sum();
+    }
+
+    /**
+     * Returns the number of calls failed with an exception,
+     * or rejected by a saturated executor.
+     * @return The count.
+     */
+    public long failures() {
+        return this.failures.sum();
+    }
+
+    /**
+     * Returns the number of calls skipped by the open breaker.
+     * @return The count.
+     */
+    public long shortCircuits() {
+        return this.shorts.sum();
+    }
+
+    /**
+     * Checks whether the breaker is open.
+     * @return True if calls are skipped until the cooldown passes.
+     */
+    public boolean isOpen() {
+        return this.state.get().open;
+    }
+
+    /**
+     * Checks whether the breaker lets a call through, claiming the trial
+     * call of an open breaker after the cooldown.
+     * @return True if the supplier may be called.
+     */
+    private boolean permitted() {
+        final State current = this.state.get();
+        final boolean result;
+        if (current.open) {
+            final long now = this.clock.getAsLong();
+            result = now - current.until >= 0L
+                && this.state.compareAndSet(
+                    current,
+                    new State(current.failures, true, now + this.cooldown)
+                );
+        } else {
+            result = true;
+        }
+        return result;
+    }
+
+    /**
+     * Calls the supplier within the budget.
+     * @return The value, or the default value.
+     */
+    private X call() {
+        final FutureTask<X> future = new FutureTask<>(this.supplier::get);
+        X result = this.other;
+        try {
+            this.executor.execute(future);
+            result = future.get(this.budget, TimeUnit.NANOSECONDS);
+            this.state.set(NullableFallback.CLOSED);
+        } catch (final TimeoutException ex) {
+            future.cancel(true);
+            this.timeouts.increment();
+            this.fail();
+        } catch (final ExecutionException | RejectedExecutionException ex) {
+            this.failures.increment();
+            this.fail();
+        } catch (final InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    /**
+     * Counts a consecutive failure, opening the breaker at the threshold.
+     */
+    private void fail() {
+        State current;
+        State next;
+        do {
+            current = this.state.get();
+            final int count = current.failures + 1;
+            if (count >= this.threshold) {
+                next = new State(
+                    count, true, this.clock.getAsLong() + this.cooldown
+                );
+            } else {
+                next = new State(count, false, 0L);
+            }
+        } while (!this.state.compareAndSet(current, next));
+    }
+
+    /**
+     * An immutable breaker state.
+     *
+     * @since 0.02
+     */
+    private static final class State {
+
+        /**
+         * The number of consecutive failures.
+         */
+        private final int failures;
+
+        /**
+         * Is the breaker open.
+         */
+        private final boolean open;
+
+        /**
+         * The time the next trial call is permitted, if open.
+         */
+        private final long until;
+
+        /**
+         * Constructor.
+         *
+         * @param failures The number of consecutive failures.
+         * @param open Is the breaker open.
+         * @param until The time the next trial call is permitted.
+         */
+        State(final int failures, final boolean open, final long until) {
+            this.failures = failures;
+            this.open = open;
+            this.until = until;
+        }
+    }
+}
@@ -0,0 +1,428 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Operators over a {@link Flow.Publisher} of {@link Nullable} elements.
+ * Adjacent operators are fused: a chain such as
+ * {@code NullableFlow.from(source).mapPresent(f).fillAbsent(s)} subscribes
+ * once to the source through a single subscriber which applies all stages
+ * to each element. The subscriber never asks the source for more elements
+ * than its subscriber has requested, so every element can be passed on as
+ * it arrives and no queue is needed, whether the source and the subscriber
+ * are synchronous or not. Demand goes upstream in batches: up to a batch is
+ * requested at once, and more only once three quarters of it arrived.
+ * Elements dropped by {@link #presentOnly()} give their demand back.
+ *
+ * <p>The class needs Java 9 or later, and it is built only by such JDKs.
+ *
+ * @param <X> the type of values
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableFlow<X> implements Flow.Publisher<Nullable<X>> {
+
+    /**
+     * Default number of elements requested from the source at once.
+     */
+    private static final int BATCH = 256;
+
+    /**
+     * The fused chain of stages.
+     */
+    private final Fused<?, Nullable<X>> fused;
+
+    /**
+     * Constructor.
+     *
+     * @param fused The fused chain of stages.
+     */
+    private NullableFlow(final Fused<?, Nullable<X>> fused) {
+        this.fused = fused;
+    }
+
+    /**
+     * Returns the operators over the source, requesting a default batch.
+     * @param source The publisher of containers.
+     * @param <X> The type of the value.
+     * @return The operators.
+     */
+    public static <X> NullableFlow<X> from(
+        final Flow.Publisher<? extends Nullable<X>> source
+    ) {
+        return NullableFlow.from(source, NullableFlow.BATCH);
+    }
+
+    /**
+     * Returns the operators over the source.
+     * @param source The publisher of containers.
+     * @param batch The maximum number of elements requested at once.
+     * @param <X> The type of the value.
+     * @return The operators.
+     */
+    public static <X> NullableFlow<X> from(
+        final Flow.Publisher<? extends Nullable<X>> source, final int batch
+    ) {
+        if (batch < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal batch: %d", batch)
+            );
+        }
+        return new NullableFlow<>(
+            new Fused<Nullable<X>, Nullable<X>>(
+                Objects.requireNonNull(source), batch, Function.identity()
+            )
+        );
+    }
+
+    /**
+     * Maps present values, keeping absent elements.
+     * @param mapper The mapping function to apply to a value.
+     * @param <Y> The type of the value returned.
+     * @return The operators with the stage fused in.
+     */
+    public <Y> NullableFlow<Y> mapPresent(
+        final Function<? super X, ? extends Y> mapper
+    ) {
+        return new NullableFlow<>(
+            this.fused.then(nullable -> nullable.map(mapper))
+        );
+    }
+
+    /**
+     * Replaces absent elements by produced values.
+     * @param supplier A supplier of a default value.
+     * @return The operators with the stage fused in.
+     */
+    public NullableFlow<X> fillAbsent(final Supplier<? extends X> supplier) {
+        return new NullableFlow<>(
+            this.fused.then(nullable -> nullable.mapOrGet(supplier))
+        );
+    }
+
+    /**
+     * Counts absent elements as they pass, keeping them.
+     * @param counter The counter of absent elements.
+     * @return The operators with the stage fused in.
+     */
+    public NullableFlow<X> countAbsent(final LongAdder counter) {
+        return new NullableFlow<>(
+            this.fused.then(
+                nullable -> {
+                    if (!nullable.isPresent()) {
+                        counter.increment();
+                    }
+                    return nullable;
+                }
+            )
+        );
+    }
+
+    /**
+     * Returns the publisher of present values, dropping absent elements.
+     * @return The publisher with the stage fused in.
+     */
+    public Flow.Publisher<X> presentOnly() {
+        return this.fused.then(
+            nullable -> nullable.isPresent() ? nullable.get() : null
+        );
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Nullable<X>> sub) {
+        this.fused.subscribe(sub);
+    }
+
+    /**
+     * A source with a chain of stages fused into one.
+     *
+     * @param <T> The type of elements of the source.
+     * @param <R> The type of elements passed on.
+     * @since 0.02
+     */
+    private static final class Fused<T, R> implements Flow.Publisher<R> {
+
+        /**
+         * The source.
+         */
+        private final Flow.Publisher<? extends T> source;
+
+        /**
+         * The maximum number of elements requested at once.
+         */
+        private final int batch;
+
+        /**
+         * The stages, returning null to drop an element.
+         */
+        private final Function<? super T, ? extends R> stage;
+
+        /**
+         * Constructor.
+         *
+         * @param source The source.
+         * @param batch The maximum number of elements requested at once.
+         * @param stage The stages, returning null to drop an element.
+         */
+        Fused(final Flow.Publisher<? extends T> source, final int batch,
+            final Function<? super T, ? extends R> stage) {
+            this.source = source;
+            this.batch = batch;
+            this.stage = stage;
+        }
+
+        /**
+         * Fuses the next stage in.
+         * @param next The next stage, returning null to drop an element.
+         * @param <Y> The type of elements passed on by the next stage.
+         * @return The fused chain.
+         */
+        <Y> Fused<T, Y> then(final Function<? super R, ? extends Y> next) {
+            final Function<? super T, ? extends R> first = this.stage;
+            return new Fused<>(
+                this.source,
+                this.batch,
+                value -> {
+                    final R middle = first.apply(value);
+                    return middle == null ? null : next.apply(middle);
+                }
+            );
+        }
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super R> sub) {
+            this.source.subscribe(
+                new Link<T, R>(
+                    Objects.requireNonNull(sub), this.batch, this.stage
+                )
+            );
+        }
+    }
+
+    /**
+     * The subscriber to the source and the subscription of the subscriber
+     * of a fused chain.
+     *
+     * @param <T> The type of elements of the source.
+     * @param <R> The type of elements passed on.
+     * @since 0.02
+     */
+    private static final class Link<T, R>
+        implements Flow.Subscriber<T>, Flow.Subscription {
+
+        /**
+         * The subscriber.
+         */
+        private final Flow.Subscriber<? super R> downstream;
+
+        /**
+         * The maximum number of elements requested at once.
+         */
+        private final int batch;
+
+        /**
+         * The stages, returning null to drop an element.
+         */
+        private final Function<? super T, ? extends R> stage;
+
+        /**
+         * The subscription to the source.
+         */
+        private final AtomicReference<Flow.Subscription> upstream;
+
+        /**
+         * Demand of the subscriber not yet requested from the source.
+         */
+        private final AtomicLong credit;
+
+        /**
+         * Elements requested from the source and not yet arrived.
+         */
+        private final AtomicLong outstanding;
+
+        /**
+         * Pending passes of the loop requesting from the source.
+         */
+        private final AtomicInteger missed;
+
+        /**
+         * Signals to the subscriber in progress, plus one once it failed.
+         */
+        private final AtomicInteger emitting;
+
+        /**
+         * The failure to signal, if any.
+         */
+        private final AtomicReference<Throwable> error;
+
+        /**
+         * Whether the chain completed, failed or was cancelled.
+         */
+        private final AtomicBoolean done;
+
+        /**
+         * Constructor.
+         *
+         * @param downstream The subscriber.
+         * @param batch The maximum number of elements requested at once.
+         * @param stage The stages, returning null to drop an element.
+         */
+        Link(final Flow.Subscriber<? super R> downstream, final int batch,
+            final Function<? super T, ? extends R> stage) {
+            this.downstream = downstream;
+            this.batch = batch;
+            this.stage = stage;
+            this.upstream = new AtomicReference<>();
+            this.credit = new AtomicLong();
+            this.outstanding = new AtomicLong();
+            this.missed = new AtomicInteger();
+            this.emitting = new AtomicInteger();
+            this.error = new AtomicReference<>();
+            this.done = new AtomicBoolean();
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            if (this.upstream.compareAndSet(null, subscription)) {
+                this.downstream.onSubscribe(this);
+            } else {
+                subscription.cancel();
+            }
+        }
+
+        @Override
+        public void onNext(final T item) {
+            if (!this.done.get()) {
+                this.outstanding.decrementAndGet();
+                R result = null;
+                try {
+                    result = this.stage.apply(Objects.requireNonNull(item));
+                } catch (final RuntimeException ex) {
+                    this.upstream.get().cancel();
+                    this.fail(ex);
+                }
+                if (result != null) {
+                    if (this.emitting.compareAndSet(0, 1)) {
+                        this.downstream.onNext(result);
+                        if (this.emitting.decrementAndGet() != 0) {
+                            this.downstream.onError(this.error.get());
+                        }
+                    }
+                } else if (!this.done.get()) {
+                    this.credit.incrementAndGet();
+                    this.forward();
+                }
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.fail(Objects.requireNonNull(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            if (this.done.compareAndSet(false, true)) {
+                this.downstream.onComplete();
+            }
+        }
+
+        @Override
+        public void request(final long count) {
+            if (count > 0L) {
+                this.credit.getAndUpdate(
+                    prev -> prev + count < 0L ? Long.MAX_VALUE : prev + count
+                );
+                this.forward();
+            } else if (!this.done.get()) {
+                this.upstream.get().cancel();
+                this.fail(
+                    new IllegalArgumentException(
+                        String.format("Illegal request: %d", count)
+                    )
+                );
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (this.done.compareAndSet(false, true)) {
+                this.upstream.get().cancel();
+            }
+        }
+
+        /**
+         * Requests from the source the demand which fits into a batch,
+         * once the elements outstanding fall to a quarter of it.
+         * Calls from the source and the subscriber, even reentrant ones,
+         * are serialized, and a call made while another runs is
+         * handled by the running one.
+         */
+        private void forward() {
+            if (this.missed.getAndIncrement() == 0) {
+                int pending = 1;
+                while (pending != 0) {
+                    final long out = this.outstanding.get();
+                    if (!this.done.get() && out <= this.batch / 4) {
+                        final long want = Math.min(
+                            this.credit.get(), this.batch - out
+                        );
+                        if (want > 0L) {
+                            this.credit.addAndGet(-want);
+                            this.outstanding.addAndGet(want);
+                            this.upstream.get().request(want);
+                        }
+                    }
+                    pending = this.missed.addAndGet(-pending);
+                }
+            }
+        }
+
+        /**
+         * Ends the chain with the failure, unless it has already ended.
+         * The failure waits for an element being passed on, so the
+         * subscriber never gets two signals at once.
+         * @param throwable The failure.
+         */
+        private void fail(final Throwable throwable) {
+            if (this.done.compareAndSet(false, true)) {
+                this.error.set(throwable);
+                if (this.emitting.getAndIncrement() == 0) {
+                    this.downstream.onError(throwable);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Push-based gap filling of a series of values which may be absent.
+ * Values are pushed one by one and filled values are passed on in order,
+ * as {@link NullableLongWindows} would fill the whole series. Only the last
+ * present value and the length of the current run of absent values are
+ * kept, so memory stays constant; backward filling and interpolation hold
+ * back a run of absent values until the next present value arrives.
+ * The filler is not thread-safe.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (300 lines)
+ */
+public final class NullableGapFiller {
+
+    /**
+     * The way absent values are filled.
+     */
+    private final Fill fill;
+
+    /**
+     * The maximum number of absent values to fill.
+     */
+    private final long gap;
+
+    /**
+     * The consumer of filled values.
+     */
+    private final Consumer<Nullable<Long>> output;
+
+    /**
+     * Whether a value was present yet.
+     */
+    private boolean known;
+
+    /**
+     * The last present value.
+     */
+    private long last;
+
+    /**
+     * The number of absent values since the last present one.
+     */
+    private long absent;
+
+    /**
+     * Constructor.
+     *
+     * @param fill The way absent values are filled.
+     * @param gap The maximum number of absent values to fill.
+     * @param output The consumer of filled values.
+     */
+    public NullableGapFiller(final Fill fill, final int gap,
+        final Consumer<Nullable<Long>> output) {
+        if (gap < 0) {
+            throw new IllegalArgumentException(
+                String.format("Illegal gap: %d", gap)
+            );
+        }
+        this.fill = fill;
+        this.gap = gap;
+        this.output = output;
+    }
+
+    /**
+     * Pushes a present value, passing on the absent values held back
+     * before it.
+     * @param value The value.
+     * @return This filler.
+     */
+    public NullableGapFiller push(final long value) {
+        if (this.fill == Fill.BACKWARD) {
+            for (long idx = this.absent; idx > 0L; --idx) {
+                this.output.accept(
+                    idx <= this.gap ? new Nullable<>(value) : Nullable.empty()
+                );
+            }
+        } else if (this.fill == Fill.LINEAR) {
+            final boolean fits = this.known && this.absent <= this.gap;
+            final double step = (double) (value - this.last)
+                / (this.absent + 1L);
+            for (long idx = 1L; idx <= this.absent; ++idx) {
+                this.output.accept(
+                    fits
+                        ? new Nullable<>(this.last + Math.round(step * idx))
+                        : Nullable.empty()
+                );
+            }
+        }
+        this.output.accept(new Nullable<>(value));
+        this.known = true;
+        this.last = value;
+        this.absent = 0L;
+        return this;
+    }
+
+    /**
+     * Pushes an absent value.
+     * @return This filler.
+     */
+    public NullableGapFiller pushAbsent() {
+        ++this.absent;
+        if (this.fill == Fill.FORWARD) {
+            this.output.accept(
+                this.known && this.absent <= this.gap
+                    ? new Nullable<>(this.last)
+                    : Nullable.empty()
+            );
+        }
+        return this;
+    }
+
+    /**
+     * Pushes the value of the container.
+     * @param value The container.
+     * @return This filler.
+     */
+    public NullableGapFiller push(final Nullable<Long> value) {
+        return value.isPresent()
+            ? this.push(value.get().longValue())
+            : this.pushAbsent();
+    }
+
+    /**
+     * Ends the series, passing on the absent values held back as absent,
+     * since no present value follows them.
+     * @return This filler.
+     */
+    public NullableGapFiller flush() {
+        if (this.fill != Fill.FORWARD) {
+            for (long idx = 0L; idx < this.absent; ++idx) {
+                this.output.accept(Nullable.empty());
+            }
+            this.absent = 0L;
+        }
+        return this;
+    }
+
+    /**
+     * The way absent values are filled.
+     *
+     * @since 0.02
+     */
+    public enum Fill {
+
+        /**
+         * With the last present value before them.
+         */
+        FORWARD,
+
+        /**
+         * With the first present value after them.
+         */
+        BACKWARD,
+
+        /**
+         * On a straight line between present values around them,
+         * rounding to the nearest long.
+         */
+        LINEAR
+    }
+}
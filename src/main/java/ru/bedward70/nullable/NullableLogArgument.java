@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * A log argument rendering a {@link Nullable} container only when its
+ * text is asked for. A logger calls {@link #toString()} only if the
+ * level is enabled, so neither the container nor its text is made
+ * for a disabled level.
+ *
+ * @since 0.02
+ */
+public final class NullableLogArgument {
+
+    /**
+     * The rendering.
+     */
+    private final Consumer<StringBuilder> rendering;
+
+    /**
+     * Constructor.
+     *
+     * @param rendering The rendering.
+     */
+    private NullableLogArgument(final Consumer<StringBuilder> rendering) {
+        this.rendering = rendering;
+    }
+
+    /**
+     * Returns the argument rendering the container of the supplier,
+     * which is called each time the text is asked for.
+     * @param supplier The supplier of the container.
+     * @return The argument.
+     */
+    public static NullableLogArgument of(
+        final Supplier<? extends Nullable<?>> supplier
+    ) {
+        return new NullableLogArgument(
+            builder -> supplier.get().appendTo(builder)
+        );
+    }
+
+    /**
+     * Returns the argument rendering a present value of the container
+     * with the renderer.
+     * @param nullable The container.
+     * @param renderer The renderer appending a value to the builder.
+     * @param <X> The type of the value.
+     * @return The argument.
+     */
+    public static <X> NullableLogArgument of(final Nullable<X> nullable,
+        final BiConsumer<StringBuilder, ? super X> renderer) {
+        return new NullableLogArgument(
+            builder -> nullable.appendTo(builder, renderer)
+        );
+    }
+
+    /**
+     * Appends the text of the container to the builder.
+     * @param builder The builder.
+     * @return The builder.
+     */
+    public StringBuilder appendTo(final StringBuilder builder) {
+        this.rendering.accept(builder);
+        return builder;
+    }
+
+    @Override
+    public String toString() {
+        return this.appendTo(new StringBuilder()).toString();
+    }
+}
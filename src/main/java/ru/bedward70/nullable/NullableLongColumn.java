@@ -0,0 +1,455 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * An append-only column of long values which may be absent.
+ * Values sit in a long[] and presence in a bitmap, so there is
+ * no boxed value or container per row.
+ * The column is not thread-safe.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class NullableLongColumn {
+
+    /**
+     * Default capacity.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * The number of present rows from which sorting runs in parallel.
+     */
+    private static final int PARALLEL = 1 << 16;
+
+    /**
+     * The number of digit values of a radix pass.
+     */
+    private static final int RADIX = 256;
+
+    /**
+     * The values, zero for absent rows.
+     */
+    private long[] values;
+
+    /**
+     * The presence bitmap.
+     */
+    private long[] presence;
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public NullableLongColumn() {
+        this(NullableLongColumn.CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The expected number of rows.
+     */
+    public NullableLongColumn(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                String.format("Illegal capacity: %d", capacity)
+            );
+        }
+        this.values = new long[capacity];
+        this.presence = new long[(capacity + 63) >>> 6];
+    }
+
+    /**
+     * Constructor over filled arrays.
+     *
+     * @param values The values, zero for absent rows.
+     * @param presence The presence bitmap.
+     * @param size The number of rows.
+     */
+    NullableLongColumn(final long[] values, final long[] presence, final int size) {
+        this.values = values;
+        this.presence = presence;
+        this.size = size;
+    }
+
+    /**
+     * Appends a present value.
+     * @param value The value.
+     * @return This column.
+     */
+    public NullableLongColumn append(final long value) {
+        this.grow();
+        this.values[this.size] = value;
+        this.presence[this.size >>> 6] |= 1L << this.size;
+        ++this.size;
+        return this;
+    }
+
+    /**
+     * Appends an absent value.
+     * @return This column.
+     */
+    public NullableLongColumn appendAbsent() {
+        this.grow();
+        ++this.size;
+        return this;
+    }
+
+    /**
+     * Appends the value of the container.
+     * @param value The container.
+     * @return This column.
+     */
+    public NullableLongColumn append(final Nullable<Long> value) {
+        return value.isPresent()
+            ? this.append(value.get().longValue())
+            : this.appendAbsent();
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return The number of rows.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether the row has a value.
+     * @param row The row.
+     * @return True if the value is present.
+     */
+    public boolean isPresent(final int row) {
+        this.check(row);
+        return (this.presence[row >>> 6] & 1L << row) != 0L;
+    }
+
+    /**
+     * Returns the value of the row or default value.
+     * @param row The row.
+     * @param other A default value.
+     * @return The value, if present, otherwise the default value.
+     */
+    public long getOr(final int row, final long other) {
+        return this.isPresent(row)
+            ? this.values[row]
+            : other;
+    }
+
+    /**
+     * Returns the value of the row in a container.
+     * @param row The row.
+     * @return The {@code Nullable} container.
+     */
+    public Nullable<Long> get(final int row) {
+        return this.isPresent(row)
+            ? new Nullable<>(this.values[row])
+            : Nullable.empty();
+    }
+
+    /**
+     * Returns the compressed set of rows with present values.
+     * The bitmap is a snapshot built on each call: the column keeps
+     * appending to its plain bitmap, and rows appended later are not seen.
+     * @return The bitmap of present rows.
+     */
+    public NullableBitmap presence() {
+        return NullableBitmap.of(this.presence, this.size);
+    }
+
+    /**
+     * Returns the rows in ascending order of values.
+     * Present values are ordered by a stable radix sort without comparisons,
+     * absent rows keep their order before or after them. Large columns
+     * are counted and scattered in parallel chunks.
+     * @param first True to put absent rows first, false to put them last.
+     * @return The permutation of rows.
+     */
+    public int[] sortedIndex(final boolean first) {
+        final int[] absent = new int[this.size];
+        final int[] rows = new int[this.size];
+        final long[] keys = new long[this.size];
+        int present = 0;
+        int count = 0;
+        for (int row = 0; row < this.size; ++row) {
+            if (this.isPresent(row)) {
+                rows[present] = row;
+                keys[present] = this.values[row] ^ Long.MIN_VALUE;
+                ++present;
+            } else {
+                absent[count] = row;
+                ++count;
+            }
+        }
+        return NullableLongColumn.sorted(
+            rows, keys, present, absent, count, first
+        );
+    }
+
+    /**
+     * Returns the rows of the largest present values, skipping absent rows.
+     * @param limit The maximum number of rows.
+     * @return The rows in descending order of values, earlier rows first
+     *  among equal values.
+     */
+    public int[] topK(final int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException(
+                String.format("Illegal limit: %d", limit)
+            );
+        }
+        final int[] heap = new int[Math.min(limit, this.size)];
+        int count = 0;
+        for (int row = 0; limit > 0 && row < this.size; ++row) {
+            if (this.isPresent(row)) {
+                if (count < limit) {
+                    heap[count] = row;
+                    this.siftUp(heap, count);
+                    ++count;
+                } else if (this.compareRows(row, heap[0]) > 0) {
+                    heap[0] = row;
+                    this.siftDown(heap, count);
+                }
+            }
+        }
+        final int[] result = new int[count];
+        for (int idx = count - 1; idx >= 0; --idx) {
+            result[idx] = heap[0];
+            heap[0] = heap[idx];
+            this.siftDown(heap, idx);
+        }
+        return result;
+    }
+
+    /**
+     * Moves the last row of a min-heap of rows up to its place.
+     * @param heap The heap.
+     * @param last The index of the last row.
+     */
+    private void siftUp(final int[] heap, final int last) {
+        final int row = heap[last];
+        int idx = last;
+        while (idx > 0 && this.compareRows(row, heap[(idx - 1) >>> 1]) < 0) {
+            heap[idx] = heap[(idx - 1) >>> 1];
+            idx = (idx - 1) >>> 1;
+        }
+        heap[idx] = row;
+    }
+
+    /**
+     * Moves the first row of a min-heap of rows down to its place.
+     * @param heap The heap.
+     * @param count The number of rows in the heap.
+     */
+    private void siftDown(final int[] heap, final int count) {
+        final int row = heap[0];
+        int idx = 0;
+        int child = 1;
+        boolean down = child < count;
+        while (down) {
+            if (child + 1 < count
+                && this.compareRows(heap[child + 1], heap[child]) < 0) {
+                ++child;
+            }
+            down = this.compareRows(heap[child], row) < 0;
+            if (down) {
+                heap[idx] = heap[child];
+                idx = child;
+                child = (idx << 1) + 1;
+                down = child < count;
+            }
+        }
+        if (count > 0) {
+            heap[idx] = row;
+        }
+    }
+
+    /**
+     * Orders rows by unsigned keys with a stable radix sort and places
+     * absent rows before or after them.
+     * @param rows The present rows, the array may be reused.
+     * @param keys The keys of present rows, the array may be reused.
+     * @param present The number of present rows.
+     * @param absent The absent rows in ascending order.
+     * @param count The number of absent rows.
+     * @param first True to put absent rows first, false to put them last.
+     * @return The permutation of rows.
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    static int[] sorted(final int[] rows, final long[] keys,
+        final int present, final int[] absent, final int count,
+        final boolean first) {
+        int[] srows = rows;
+        long[] skeys = keys;
+        int[] trows = new int[present];
+        long[] tkeys = new long[present];
+        final int chunks = present < NullableLongColumn.PARALLEL
+            ? 1
+            : Runtime.getRuntime().availableProcessors();
+        final int[][] counts = new int[chunks][NullableLongColumn.RADIX];
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            if (NullableLongColumn.pass(
+                counts, present, shift, srows, skeys, trows, tkeys
+            )) {
+                final int[] swap = srows;
+                srows = trows;
+                trows = swap;
+                final long[] kswap = skeys;
+                skeys = tkeys;
+                tkeys = kswap;
+            }
+        }
+        final int[] result = new int[present + count];
+        if (first) {
+            System.arraycopy(absent, 0, result, 0, count);
+            System.arraycopy(srows, 0, result, count, present);
+        } else {
+            System.arraycopy(srows, 0, result, 0, present);
+            System.arraycopy(absent, 0, result, present, count);
+        }
+        return result;
+    }
+
+    /**
+     * Runs one stable radix pass over a byte of the keys, counting and
+     * scattering chunks of rows in parallel when there are several.
+     * @param counts The digit counts of each chunk.
+     * @param present The number of rows.
+     * @param shift The shift of the byte.
+     * @param rows The rows.
+     * @param keys The keys of rows.
+     * @param trows The rows in the order of the byte.
+     * @param tkeys The keys in the order of the byte.
+     * @return False if all keys have the same byte and nothing moved.
+     * @checkstyle ParameterNumberCheck (3 lines)
+     */
+    private static boolean pass(final int[][] counts, final int present,
+        final int shift, final int[] rows, final long[] keys,
+        final int[] trows, final long[] tkeys) {
+        final int chunks = counts.length;
+        final int span = (present + chunks - 1) / chunks;
+        IntStream stream = IntStream.range(0, chunks);
+        if (chunks > 1) {
+            stream = stream.parallel();
+        }
+        stream.forEach(
+            chunk -> {
+                Arrays.fill(counts[chunk], 0);
+                final int end = Math.min(present, (chunk + 1) * span);
+                for (int idx = chunk * span; idx < end; ++idx) {
+                    ++counts[chunk][(int) (keys[idx] >>> shift & 0xFF)];
+                }
+            }
+        );
+        boolean moves = false;
+        if (present > 0) {
+            final int digit = (int) (keys[0] >>> shift & 0xFF);
+            int same = 0;
+            for (int chunk = 0; chunk < chunks; ++chunk) {
+                same += counts[chunk][digit];
+            }
+            moves = same != present;
+        }
+        if (moves) {
+            int pos = 0;
+            for (int digit = 0; digit < NullableLongColumn.RADIX; ++digit) {
+                for (int chunk = 0; chunk < chunks; ++chunk) {
+                    final int count = counts[chunk][digit];
+                    counts[chunk][digit] = pos;
+                    pos += count;
+                }
+            }
+            stream = IntStream.range(0, chunks);
+            if (chunks > 1) {
+                stream = stream.parallel();
+            }
+            stream.forEach(
+                chunk -> {
+                    final int end = Math.min(present, (chunk + 1) * span);
+                    for (int idx = chunk * span; idx < end; ++idx) {
+                        final int target =
+                            counts[chunk][(int) (keys[idx] >>> shift & 0xFF)]++;
+                        trows[target] = rows[idx];
+                        tkeys[target] = keys[idx];
+                    }
+                }
+            );
+        }
+        return moves;
+    }
+
+    /**
+     * Compares present rows by value, an earlier row being greater
+     * among equal values.
+     * @param left The left row.
+     * @param right The right row.
+     * @return The comparison result.
+     */
+    private int compareRows(final int left, final int right) {
+        final int result = Long.compare(this.values[left], this.values[right]);
+        return result == 0
+            ? Integer.compare(right, left)
+            : result;
+    }
+
+    /**
+     * Checks the row index.
+     * @param row The row.
+     */
+    private void check(final int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException(
+                String.format("Row %d, size %d", row, this.size)
+            );
+        }
+    }
+
+    /**
+     * Makes room for one more row.
+     */
+    private void grow() {
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(
+                this.values,
+                Math.max(NullableLongColumn.CAPACITY, this.size << 1)
+            );
+        }
+        if (this.size >>> 6 == this.presence.length) {
+            this.presence = Arrays.copyOf(
+                this.presence, (this.values.length + 63) >>> 6
+            );
+        }
+    }
+}
@@ -0,0 +1,246 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Groups of rows of a {@link NullableLongColumn} with equal keys.
+ * As in SQL, all rows with an absent key form one group.
+ * Aggregates skip absent values.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableLongGroups {
+
+    /**
+     * The group of each row.
+     */
+    private final int[] groups;
+
+    /**
+     * The key of each group.
+     */
+    private final NullableLongColumn keys;
+
+    /**
+     * Constructor.
+     *
+     * @param groups The group of each row.
+     * @param keys The key of each group.
+     */
+    private NullableLongGroups(final int[] groups,
+        final NullableLongColumn keys) {
+        this.groups = groups;
+        this.keys = keys;
+    }
+
+    /**
+     * Groups the rows of the column by value.
+     * @param column The column of keys.
+     * @return The groups, in order of their first rows.
+     */
+    public static NullableLongGroups of(final NullableLongColumn column) {
+        final int[] groups = new int[column.size()];
+        final NullableLongColumn keys = new NullableLongColumn();
+        final LongIntTable table = new LongIntTable(0);
+        int absent = -1;
+        for (int row = 0; row < groups.length; ++row) {
+            if (column.isPresent(row)) {
+                final long key = column.getOr(row, 0L);
+                final int known = table.putIfAbsent(key, keys.size());
+                if (known < 0) {
+                    groups[row] = keys.size();
+                    keys.append(key);
+                } else {
+                    groups[row] = known;
+                }
+            } else {
+                if (absent < 0) {
+                    absent = keys.size();
+                    keys.appendAbsent();
+                }
+                groups[row] = absent;
+            }
+        }
+        return new NullableLongGroups(groups, keys);
+    }
+
+    /**
+     * Returns the number of groups.
+     * @return The number of groups.
+     */
+    public int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * Returns the key of each group.
+     * @return The column of keys, absent for the group of absent keys.
+     */
+    public NullableLongColumn keys() {
+        return this.keys;
+    }
+
+    /**
+     * Returns the group of the row.
+     * @param row The row.
+     * @return The group.
+     */
+    public int group(final int row) {
+        return this.groups[row];
+    }
+
+    /**
+     * Counts present values of each group.
+     * @param values The column of values, as long as the column of keys.
+     * @return The counts.
+     */
+    public long[] count(final NullableLongColumn values) {
+        this.check(values);
+        final long[] result = new long[this.size()];
+        for (int row = 0; row < this.groups.length; ++row) {
+            if (values.isPresent(row)) {
+                ++result[this.groups[row]];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Counts absent values of each group.
+     * @param values The column of values, as long as the column of keys.
+     * @return The counts.
+     */
+    public long[] countAbsent(final NullableLongColumn values) {
+        this.check(values);
+        final long[] result = new long[this.size()];
+        for (int row = 0; row < this.groups.length; ++row) {
+            if (!values.isPresent(row)) {
+                ++result[this.groups[row]];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Sums present values of each group.
+     * @param values The column of values, as long as the column of keys.
+     * @return The sums, absent for groups without present values.
+     */
+    public NullableLongColumn sum(final NullableLongColumn values) {
+        return this.reduce(values, Long::sum);
+    }
+
+    /**
+     * Finds the minimum present value of each group.
+     * @param values The column of values, as long as the column of keys.
+     * @return The minimums, absent for groups without present values.
+     */
+    public NullableLongColumn min(final NullableLongColumn values) {
+        return this.reduce(values, Math::min);
+    }
+
+    /**
+     * Finds the maximum present value of each group.
+     * @param values The column of values, as long as the column of keys.
+     * @return The maximums, absent for groups without present values.
+     */
+    public NullableLongColumn max(final NullableLongColumn values) {
+        return this.reduce(values, Math::max);
+    }
+
+    /**
+     * Averages present values of each group.
+     * @param values The column of values, as long as the column of keys.
+     * @return The averages, absent for groups without present values.
+     */
+    public List<Nullable<Double>> avg(final NullableLongColumn values) {
+        final NullableLongColumn sums = this.sum(values);
+        final long[] counts = this.count(values);
+        final List<Nullable<Double>> result = new ArrayList<>(this.size());
+        for (int group = 0; group < counts.length; ++group) {
+            result.add(
+                counts[group] == 0L
+                    ? Nullable.empty()
+                    : new Nullable<>(
+                        (double) sums.getOr(group, 0L) / counts[group]
+                    )
+            );
+        }
+        return result;
+    }
+
+    /**
+     * Reduces present values of each group.
+     * @param values The column of values, as long as the column of keys.
+     * @param operator The reducing operator.
+     * @return The results, absent for groups without present values.
+     */
+    private NullableLongColumn reduce(final NullableLongColumn values,
+        final LongBinaryOperator operator) {
+        this.check(values);
+        final long[] results = new long[this.size()];
+        final boolean[] present = new boolean[this.size()];
+        for (int row = 0; row < this.groups.length; ++row) {
+            if (values.isPresent(row)) {
+                final int group = this.groups[row];
+                final long value = values.getOr(row, 0L);
+                results[group] = present[group]
+                    ? operator.applyAsLong(results[group], value)
+                    : value;
+                present[group] = true;
+            }
+        }
+        final NullableLongColumn result = new NullableLongColumn(results.length);
+        for (int group = 0; group < results.length; ++group) {
+            if (present[group]) {
+                result.append(results[group]);
+            } else {
+                result.appendAbsent();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks the column of values matches the column of keys.
+     * @param values The column of values.
+     */
+    private void check(final NullableLongColumn values) {
+        if (values.size() != this.groups.length) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Column of %d values for %d keys",
+                    values.size(),
+                    this.groups.length
+                )
+            );
+        }
+    }
+}
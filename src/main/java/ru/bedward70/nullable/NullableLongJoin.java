@@ -0,0 +1,178 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Pairs of rows of two {@link NullableLongColumn} with equal keys.
+ * As in SQL, an absent key matches no row.
+ * The right column is hashed, and the left column probes the table
+ * in parallel.
+ *
+ * @since 0.02
+ */
+public final class NullableLongJoin {
+
+    /**
+     * The rows of the left column.
+     */
+    private final int[] lefts;
+
+    /**
+     * The rows of the right column, -1 for unmatched left rows.
+     */
+    private final int[] rights;
+
+    /**
+     * Constructor.
+     *
+     * @param lefts The rows of the left column.
+     * @param rights The rows of the right column.
+     */
+    private NullableLongJoin(final int[] lefts, final int[] rights) {
+        this.lefts = lefts;
+        this.rights = rights;
+    }
+
+    /**
+     * Joins rows with equal present keys.
+     * @param left The left column of keys.
+     * @param right The right column of keys.
+     * @return The pairs, in order of left rows and then right rows.
+     */
+    public static NullableLongJoin inner(final NullableLongColumn left,
+        final NullableLongColumn right) {
+        return NullableLongJoin.join(left, right, false);
+    }
+
+    /**
+     * Joins rows with equal present keys, keeping unmatched left rows.
+     * @param left The left column of keys.
+     * @param right The right column of keys.
+     * @return The pairs, in order of left rows and then right rows.
+     */
+    public static NullableLongJoin left(final NullableLongColumn left,
+        final NullableLongColumn right) {
+        return NullableLongJoin.join(left, right, true);
+    }
+
+    /**
+     * Returns the number of pairs.
+     * @return The number of pairs.
+     */
+    public int size() {
+        return this.lefts.length;
+    }
+
+    /**
+     * Returns the rows of the left column.
+     * @return The rows.
+     */
+    public int[] leftRows() {
+        return this.lefts.clone();
+    }
+
+    /**
+     * Returns the rows of the right column.
+     * @return The rows, -1 for unmatched left rows.
+     */
+    public int[] rightRows() {
+        return this.rights.clone();
+    }
+
+    /**
+     * Joins rows with equal present keys.
+     * @param left The left column of keys.
+     * @param right The right column of keys.
+     * @param outer True to keep unmatched left rows.
+     * @return The pairs.
+     */
+    private static NullableLongJoin join(final NullableLongColumn left,
+        final NullableLongColumn right, final boolean outer) {
+        final LongIntTable heads = new LongIntTable(right.size());
+        final int[] next = new int[right.size()];
+        for (int row = right.size() - 1; row >= 0; --row) {
+            if (right.isPresent(row)) {
+                final long key = right.getOr(row, 0L);
+                next[row] = heads.putIfAbsent(key, row);
+                if (next[row] >= 0) {
+                    heads.replace(key, row);
+                }
+            }
+        }
+        final int[] offsets = new int[left.size() + 1];
+        IntStream.range(0, left.size()).parallel().forEach(
+            row -> {
+                int count = 0;
+                for (int match = NullableLongJoin.head(heads, left, row);
+                    match >= 0; match = next[match]) {
+                    ++count;
+                }
+                if (outer && count == 0) {
+                    count = 1;
+                }
+                offsets[row + 1] = count;
+            }
+        );
+        Arrays.parallelPrefix(offsets, Integer::sum);
+        final int[] lefts = new int[offsets[left.size()]];
+        final int[] rights = new int[lefts.length];
+        IntStream.range(0, left.size()).parallel().forEach(
+            row -> {
+                int pos = offsets[row];
+                for (int match = NullableLongJoin.head(heads, left, row);
+                    match >= 0; match = next[match]) {
+                    lefts[pos] = row;
+                    rights[pos] = match;
+                    ++pos;
+                }
+                if (pos == offsets[row] && outer) {
+                    lefts[pos] = row;
+                    rights[pos] = -1;
+                }
+            }
+        );
+        return new NullableLongJoin(lefts, rights);
+    }
+
+    /**
+     * Returns the first right row matching the left row.
+     * @param heads The first right row of each key.
+     * @param left The left column of keys.
+     * @param row The left row.
+     * @return The right row, or -1.
+     */
+    private static int head(final LongIntTable heads,
+        final NullableLongColumn left, final int row) {
+        final int result;
+        if (left.isPresent(row)) {
+            result = heads.get(left.getOr(row, 0L));
+        } else {
+            result = -1;
+        }
+        return result;
+    }
+}
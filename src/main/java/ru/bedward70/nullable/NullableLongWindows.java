@@ -0,0 +1,343 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Gap filling and rolling aggregates over a {@link NullableLongColumn}
+ * seen as a series. {@link NullableGapFiller} fills gaps of a series
+ * pushed value by value, and {@link NullableRollingWindow} computes
+ * rolling aggregates the same way.
+ *
+ * <p>Large columns are processed in parallel chunks. Gap filling first
+ * finds the first and the last present row of each chunk, so every chunk
+ * knows the present rows around it; a rolling window of each chunk is
+ * first fed the rows before the chunk which it covers.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class NullableLongWindows {
+
+    /**
+     * The number of rows of a chunk, a multiple of the 64 rows of
+     * a presence word.
+     */
+    private static final int CHUNK = 1 << 14;
+
+    /**
+     * The number of rows from which chunks run in parallel.
+     */
+    private static final int PARALLEL = 1 << 16;
+
+    /**
+     * Utility class.
+     */
+    private NullableLongWindows() {
+    }
+
+    /**
+     * Fills absent rows with the last present value before them.
+     * @param column The series.
+     * @param gap The maximum number of rows to fill after a present value.
+     * @return The filled series.
+     */
+    public static NullableLongColumn fillForward(
+        final NullableLongColumn column, final int gap
+    ) {
+        return NullableLongWindows.fill(
+            column, gap, NullableGapFiller.Fill.FORWARD
+        );
+    }
+
+    /**
+     * Fills absent rows with the first present value after them.
+     * @param column The series.
+     * @param gap The maximum number of rows to fill before a present value.
+     * @return The filled series.
+     */
+    public static NullableLongColumn fillBackward(
+        final NullableLongColumn column, final int gap
+    ) {
+        return NullableLongWindows.fill(
+            column, gap, NullableGapFiller.Fill.BACKWARD
+        );
+    }
+
+    /**
+     * Fills absent rows between two present values on a straight line,
+     * rounding to the nearest long. Leading and trailing absent rows
+     * and gaps longer than the limit stay absent.
+     * @param column The series.
+     * @param gap The maximum number of absent rows between present values.
+     * @return The interpolated series.
+     */
+    public static NullableLongColumn interpolate(
+        final NullableLongColumn column, final int gap
+    ) {
+        return NullableLongWindows.fill(
+            column, gap, NullableGapFiller.Fill.LINEAR
+        );
+    }
+
+    /**
+     * Computes a rolling aggregate of the series without boxing.
+     * Rows whose window has no present value are absent.
+     * @param column The series.
+     * @param width The number of values in the window.
+     * @param aggregate The aggregate of a window with a present value,
+     *  such as {@code window -> window.maxOr(0L)}.
+     * @return The series of aggregates ending at each row.
+     */
+    public static NullableLongColumn rolling(final NullableLongColumn column,
+        final int width,
+        final ToLongFunction<NullableRollingWindow> aggregate) {
+        final long[] values = new long[column.size()];
+        final long[] presence = new long[(column.size() + 63) >>> 6];
+        NullableLongWindows.roll(
+            column, width,
+            (window, row) -> {
+                values[row] = aggregate.applyAsLong(window);
+                presence[row >>> 6] |= 1L << row;
+            }
+        );
+        return new NullableLongColumn(values, presence, column.size());
+    }
+
+    /**
+     * Computes the rolling mean of the series without boxing.
+     * Rows whose window has no present value are absent.
+     * @param column The series.
+     * @param width The number of values in the window.
+     * @return The series of means ending at each row.
+     */
+    public static NullableDoubleColumn rollingMean(
+        final NullableLongColumn column, final int width
+    ) {
+        final double[] values = new double[column.size()];
+        final long[] presence = new long[(column.size() + 63) >>> 6];
+        NullableLongWindows.roll(
+            column, width,
+            (window, row) -> {
+                values[row] = window.meanOr(0.0);
+                presence[row >>> 6] |= 1L << row;
+            }
+        );
+        return new NullableDoubleColumn(values, presence, column.size());
+    }
+
+    /**
+     * Fills gaps of the series, chunk by chunk.
+     * @param column The series.
+     * @param gap The maximum number of rows to fill.
+     * @param fill The way absent rows are filled.
+     * @return The filled series.
+     */
+    private static NullableLongColumn fill(final NullableLongColumn column,
+        final int gap, final NullableGapFiller.Fill fill) {
+        final int size = column.size();
+        final int chunks = NullableLongWindows.count(size);
+        final int[] firsts = new int[chunks];
+        final int[] lasts = new int[chunks];
+        NullableLongWindows.chunks(size, true).forEach(
+            chunk -> {
+                firsts[chunk] = -1;
+                lasts[chunk] = -1;
+                final int end = NullableLongWindows.end(chunk, size);
+                for (int row = chunk * NullableLongWindows.CHUNK; row < end;
+                    ++row) {
+                    if (column.isPresent(row)) {
+                        if (firsts[chunk] < 0) {
+                            firsts[chunk] = row;
+                        }
+                        lasts[chunk] = row;
+                    }
+                }
+            }
+        );
+        final int[] before = new int[chunks];
+        int prev = -1;
+        for (int chunk = 0; chunk < chunks; ++chunk) {
+            before[chunk] = prev;
+            if (lasts[chunk] >= 0) {
+                prev = lasts[chunk];
+            }
+        }
+        final int[] after = new int[chunks];
+        int next = -1;
+        for (int chunk = chunks - 1; chunk >= 0; --chunk) {
+            after[chunk] = next;
+            if (firsts[chunk] >= 0) {
+                next = firsts[chunk];
+            }
+        }
+        final long[] values = new long[size];
+        final long[] presence = new long[(size + 63) >>> 6];
+        NullableLongWindows.chunks(size, true).forEach(
+            chunk -> {
+                final int end = NullableLongWindows.end(chunk, size);
+                int last = before[chunk];
+                int from = chunk * NullableLongWindows.CHUNK;
+                for (int row = from; row < end; ++row) {
+                    if (column.isPresent(row)) {
+                        NullableLongWindows.run(
+                            column, fill, gap, last, row, from, row, values,
+                            presence
+                        );
+                        values[row] = column.getOr(row, 0L);
+                        presence[row >>> 6] |= 1L << row;
+                        last = row;
+                        from = row + 1;
+                    }
+                }
+                NullableLongWindows.run(
+                    column, fill, gap, last, after[chunk], from, end,
+                    values, presence
+                );
+            }
+        );
+        return new NullableLongColumn(values, presence, size);
+    }
+
+    /**
+     * Fills a part of a run of absent rows.
+     * @param column The series.
+     * @param fill The way absent rows are filled.
+     * @param gap The maximum number of rows to fill.
+     * @param prev The present row before the run, or -1.
+     * @param next The present row after the run, or -1.
+     * @param from The first absent row of the part.
+     * @param until The row after the part.
+     * @param values The filled values.
+     * @param presence The presence bitmap of filled values.
+     * @checkstyle ParameterNumberCheck (4 lines)
+     */
+    private static void run(final NullableLongColumn column,
+        final NullableGapFiller.Fill fill, final int gap, final int prev,
+        final int next, final int from, final int until,
+        final long[] values, final long[] presence) {
+        int start = from;
+        int end = until;
+        long first = 0L;
+        double step = 0.0;
+        if (fill == NullableGapFiller.Fill.FORWARD && prev >= 0) {
+            end = (int) Math.min(until, prev + (long) gap + 1L);
+            first = column.getOr(prev, 0L);
+        } else if (fill == NullableGapFiller.Fill.BACKWARD && next >= 0) {
+            start = (int) Math.max(from, next - (long) gap);
+            first = column.getOr(next, 0L);
+        } else if (fill == NullableGapFiller.Fill.LINEAR && prev >= 0
+            && next >= 0 && next - prev - 1 <= gap) {
+            first = column.getOr(prev, 0L);
+            step = (double) (column.getOr(next, 0L) - first) / (next - prev);
+        } else {
+            end = start;
+        }
+        for (int row = start; row < end; ++row) {
+            if (fill == NullableGapFiller.Fill.LINEAR) {
+                values[row] = first + Math.round(step * (row - prev));
+            } else {
+                values[row] = first;
+            }
+            presence[row >>> 6] |= 1L << row;
+        }
+    }
+
+    /**
+     * Passes the window ending at each row with a present value
+     * to the consumer, chunk by chunk.
+     * @param column The series.
+     * @param width The number of values in the window.
+     * @param consumer The consumer of windows and their last rows.
+     */
+    private static void roll(final NullableLongColumn column, final int width,
+        final ObjIntConsumer<NullableRollingWindow> consumer) {
+        if (width < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal window width: %d", width)
+            );
+        }
+        final int size = column.size();
+        NullableLongWindows.chunks(size, width <= NullableLongWindows.CHUNK)
+            .forEach(
+                chunk -> {
+                    final NullableRollingWindow window =
+                        new NullableRollingWindow(width);
+                    final int start = chunk * NullableLongWindows.CHUNK;
+                    final int end = NullableLongWindows.end(chunk, size);
+                    for (int row = Math.max(0, start - width + 1); row < end;
+                        ++row) {
+                        if (column.isPresent(row)) {
+                            window.push(column.getOr(row, 0L));
+                        } else {
+                            window.pushAbsent();
+                        }
+                        if (row >= start && window.countPresent() > 0) {
+                            consumer.accept(window, row);
+                        }
+                    }
+                }
+            );
+    }
+
+    /**
+     * Returns the chunks of the rows, in parallel for many rows.
+     * @param size The number of rows.
+     * @param parallel False to keep the chunks sequential.
+     * @return The stream of chunks.
+     */
+    private static IntStream chunks(final int size, final boolean parallel) {
+        final IntStream result = IntStream.range(
+            0, NullableLongWindows.count(size)
+        );
+        return parallel && size >= NullableLongWindows.PARALLEL
+            ? result.parallel()
+            : result;
+    }
+
+    /**
+     * Returns the number of chunks of the rows.
+     * @param size The number of rows.
+     * @return The number of chunks.
+     */
+    private static int count(final int size) {
+        return (size + NullableLongWindows.CHUNK - 1)
+            / NullableLongWindows.CHUNK;
+    }
+
+    /**
+     * Returns the row after the chunk.
+     * @param chunk The chunk.
+     * @param size The number of rows.
+     * @return The row after the chunk.
+     */
+    private static int end(final int chunk, final int size) {
+        return (int) Math.min(size, (chunk + 1L) * NullableLongWindows.CHUNK);
+    }
+}
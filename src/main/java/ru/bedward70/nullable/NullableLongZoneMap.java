@@ -0,0 +1,212 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * A block-level index of a {@link NullableLongColumn}.
+ * For each block of rows it keeps the number of present values and
+ * their minimum and maximum, so queries skip blocks that are all absent
+ * or out of range. Rows appended to the column are indexed on the next
+ * query. The index is not thread-safe.
+ *
+ * @since 0.02
+ */
+public final class NullableLongZoneMap {
+
+    /**
+     * Default number of rows in a block.
+     */
+    private static final int BLOCK = 1024;
+
+    /**
+     * The column.
+     */
+    private final NullableLongColumn column;
+
+    /**
+     * The number of rows in a block.
+     */
+    private final int block;
+
+    /**
+     * The minimum present value of each block.
+     */
+    private long[] mins;
+
+    /**
+     * The maximum present value of each block.
+     */
+    private long[] maxs;
+
+    /**
+     * The number of present values of each block.
+     */
+    private int[] presents;
+
+    /**
+     * The number of indexed rows.
+     */
+    private int indexed;
+
+    /**
+     * Constructor.
+     *
+     * @param column The column.
+     */
+    public NullableLongZoneMap(final NullableLongColumn column) {
+        this(column, NullableLongZoneMap.BLOCK);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param column The column.
+     * @param block The number of rows in a block.
+     */
+    public NullableLongZoneMap(final NullableLongColumn column,
+        final int block) {
+        if (block < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal block size: %d", block)
+            );
+        }
+        this.column = column;
+        this.block = block;
+        this.mins = new long[0];
+        this.maxs = new long[0];
+        this.presents = new int[0];
+    }
+
+    /**
+     * Indexes the rows appended since the last update, blocks in parallel.
+     * @return This index.
+     */
+    public NullableLongZoneMap update() {
+        final int size = this.column.size();
+        if (size != this.indexed) {
+            final int count = (size + this.block - 1) / this.block;
+            this.mins = Arrays.copyOf(this.mins, count);
+            this.maxs = Arrays.copyOf(this.maxs, count);
+            this.presents = Arrays.copyOf(this.presents, count);
+            IntStream.range(this.indexed / this.block, count)
+                .parallel()
+                .forEach(this::summarize);
+            this.indexed = size;
+        }
+        return this;
+    }
+
+    /**
+     * Counts present values.
+     * @return The count.
+     */
+    public long countPresent() {
+        this.update();
+        long result = 0L;
+        for (final int present : this.presents) {
+            result += present;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the first row with a present value.
+     * @return The row, or -1 if all values are absent.
+     */
+    public int firstPresent() {
+        this.update();
+        int result = -1;
+        for (int idx = 0; result < 0 && idx < this.presents.length; ++idx) {
+            if (this.presents[idx] > 0) {
+                result = idx * this.block;
+                while (!this.column.isPresent(result)) {
+                    ++result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the rows with present values within the range.
+     * @param from The lowest value, inclusive.
+     * @param till The highest value, inclusive.
+     * @return The rows in ascending order.
+     */
+    public int[] filterRange(final long from, final long till) {
+        this.update();
+        int[] result = new int[0];
+        int count = 0;
+        for (int idx = 0; idx < this.presents.length; ++idx) {
+            if (this.presents[idx] > 0 && this.maxs[idx] >= from
+                && this.mins[idx] <= till) {
+                final int start = idx * this.block;
+                final int end = Math.min(start + this.block, this.indexed);
+                final boolean inside = this.mins[idx] >= from
+                    && this.maxs[idx] <= till;
+                if (result.length - count < end - start) {
+                    result = Arrays.copyOf(
+                        result, Math.max(result.length << 1, count + end - start)
+                    );
+                }
+                for (int row = start; row < end; ++row) {
+                    if (this.column.isPresent(row)) {
+                        final long value = this.column.getOr(row, 0L);
+                        if (inside || value >= from && value <= till) {
+                            result[count] = row;
+                            ++count;
+                        }
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Computes the summary of a block.
+     * @param idx The block.
+     */
+    private void summarize(final int idx) {
+        final int start = idx * this.block;
+        final int end = Math.min(start + this.block, this.column.size());
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        int present = 0;
+        for (int row = start; row < end; ++row) {
+            if (this.column.isPresent(row)) {
+                final long value = this.column.getOr(row, 0L);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+                ++present;
+            }
+        }
+        this.mins[idx] = min;
+        this.maxs[idx] = max;
+        this.presents[idx] = present;
+    }
+}
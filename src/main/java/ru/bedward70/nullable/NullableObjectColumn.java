@@ -0,0 +1,357 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * An append-only column of values which may be absent.
+ * Values sit in an Object[] with null for absent rows, so there is
+ * no container per row.
+ * The column is not thread-safe.
+ *
+ * @param <X> the type of values
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableObjectColumn<X> {
+
+    /**
+     * Default capacity.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * The number of rows up to which a range is sorted by insertion.
+     */
+    private static final int INSERTION = 32;
+
+    /**
+     * The number of rows from which halves of a range are sorted
+     * in parallel.
+     */
+    private static final int PARALLEL = 1 << 13;
+
+    /**
+     * The values, null for absent rows.
+     */
+    private Object[] values;
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public NullableObjectColumn() {
+        this(NullableObjectColumn.CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The expected number of rows.
+     */
+    public NullableObjectColumn(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(
+                String.format("Illegal capacity: %d", capacity)
+            );
+        }
+        this.values = new Object[capacity];
+    }
+
+    /**
+     * Appends a value.
+     * @param value The value, null for an absent row.
+     * @return This column.
+     */
+    public NullableObjectColumn<X> append(final X value) {
+        if (this.size == this.values.length) {
+            this.values = Arrays.copyOf(
+                this.values,
+                Math.max(NullableObjectColumn.CAPACITY, this.size << 1)
+            );
+        }
+        this.values[this.size] = value;
+        ++this.size;
+        return this;
+    }
+
+    /**
+     * Appends the value of the container.
+     * @param value The container.
+     * @return This column.
+     */
+    public NullableObjectColumn<X> append(final Nullable<? extends X> value) {
+        return this.append(value.get());
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return The number of rows.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether the row has a value.
+     * @param row The row.
+     * @return True if the value is present.
+     */
+    public boolean isPresent(final int row) {
+        this.check(row);
+        return this.values[row] != null;
+    }
+
+    /**
+     * Returns the value of the row or default value.
+     * @param row The row.
+     * @param other A default value.
+     * @return The value, if present, otherwise the default value.
+     */
+    public X getOr(final int row, final X other) {
+        return this.isPresent(row)
+            ? (X) this.values[row]
+            : other;
+    }
+
+    /**
+     * Returns the value of the row in a container.
+     * @param row The row.
+     * @return The {@code Nullable} container.
+     */
+    public Nullable<X> get(final int row) {
+        this.check(row);
+        return Nullable.of((X) this.values[row]);
+    }
+
+    /**
+     * Returns the rows in the order of values.
+     * Present values are ordered by a stable merge sort whose halves
+     * run as fork-join tasks for large ranges, so equal values keep
+     * the order of their rows; absent rows keep their order before
+     * or after them.
+     * @param order The order of values.
+     * @param first True to put absent rows first, false to put them last.
+     * @return The permutation of rows.
+     */
+    public int[] sortedIndex(final Comparator<? super X> order,
+        final boolean first) {
+        final int[] rows = new int[this.size];
+        final int[] absent = new int[this.size];
+        int present = 0;
+        int count = 0;
+        for (int row = 0; row < this.size; ++row) {
+            if (this.values[row] == null) {
+                absent[count] = row;
+                ++count;
+            } else {
+                rows[present] = row;
+                ++present;
+            }
+        }
+        ForkJoinPool.commonPool().invoke(
+            new Merge<X>(
+                this.values, order, rows, new int[present], 0, present
+            )
+        );
+        final int[] result = new int[this.size];
+        if (first) {
+            System.arraycopy(absent, 0, result, 0, count);
+            System.arraycopy(rows, 0, result, count, present);
+        } else {
+            System.arraycopy(rows, 0, result, 0, present);
+            System.arraycopy(absent, 0, result, present, count);
+        }
+        return result;
+    }
+
+    /**
+     * Checks the row is in the column.
+     * @param row The row.
+     */
+    private void check(final int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException(
+                String.format("Row %d, size %d", row, this.size)
+            );
+        }
+    }
+
+    /**
+     * A stable merge sort of a range of rows by their values.
+     *
+     * @param <X> The type of values.
+     * @since 0.02
+     */
+    private static final class Merge<X> extends RecursiveAction {
+
+        /**
+         * Serialization marker.
+         */
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * The values of rows.
+         */
+        private final Object[] values;
+
+        /**
+         * The order of values.
+         */
+        private final Comparator<? super X> order;
+
+        /**
+         * The rows.
+         */
+        private final int[] rows;
+
+        /**
+         * The scratch space, as long as the rows.
+         */
+        private final int[] scratch;
+
+        /**
+         * The first index of the range.
+         */
+        private final int from;
+
+        /**
+         * The index after the range.
+         */
+        private final int until;
+
+        /**
+         * Constructor.
+         *
+         * @param values The values of rows.
+         * @param order The order of values.
+         * @param rows The rows.
+         * @param scratch The scratch space, as long as the rows.
+         * @param from The first index of the range.
+         * @param until The index after the range.
+         * @checkstyle ParameterNumberCheck (4 lines)
+         */
+        Merge(final Object[] values, final Comparator<? super X> order,
+            final int[] rows, final int[] scratch, final int from,
+            final int until) {
+            super();
+            this.values = values;
+            this.order = order;
+            this.rows = rows;
+            this.scratch = scratch;
+            this.from = from;
+            this.until = until;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.until - this.from <= NullableObjectColumn.INSERTION) {
+                this.insertion();
+            } else {
+                final int middle = (this.from + this.until) >>> 1;
+                final Merge<X> left = new Merge<>(
+                    this.values, this.order, this.rows, this.scratch,
+                    this.from, middle
+                );
+                final Merge<X> right = new Merge<>(
+                    this.values, this.order, this.rows, this.scratch,
+                    middle, this.until
+                );
+                if (this.until - this.from < NullableObjectColumn.PARALLEL) {
+                    left.compute();
+                    right.compute();
+                } else {
+                    RecursiveAction.invokeAll(left, right);
+                }
+                if (this.compare(this.rows[middle - 1], this.rows[middle])
+                    > 0) {
+                    this.merge(middle);
+                }
+            }
+        }
+
+        /**
+         * Sorts the range by insertion.
+         */
+        private void insertion() {
+            for (int idx = this.from + 1; idx < this.until; ++idx) {
+                final int row = this.rows[idx];
+                int pos = idx;
+                while (pos > this.from
+                    && this.compare(this.rows[pos - 1], row) > 0) {
+                    this.rows[pos] = this.rows[pos - 1];
+                    --pos;
+                }
+                this.rows[pos] = row;
+            }
+        }
+
+        /**
+         * Merges the sorted halves of the range, taking the left row
+         * among equal values.
+         * @param middle The first index of the right half.
+         */
+        private void merge(final int middle) {
+            System.arraycopy(
+                this.rows, this.from, this.scratch, this.from,
+                middle - this.from
+            );
+            int left = this.from;
+            int right = middle;
+            int pos = this.from;
+            while (left < middle && right < this.until) {
+                if (this.compare(this.scratch[left], this.rows[right]) > 0) {
+                    this.rows[pos] = this.rows[right];
+                    ++right;
+                } else {
+                    this.rows[pos] = this.scratch[left];
+                    ++left;
+                }
+                ++pos;
+            }
+            System.arraycopy(this.scratch, left, this.rows, pos, middle - left);
+        }
+
+        /**
+         * Compares the values of rows.
+         * @param left The left row.
+         * @param right The right row.
+         * @return The comparison result.
+         */
+        private int compare(final int left, final int right) {
+            return this.order.compare(
+                (X) this.values[left], (X) this.values[right]
+            );
+        }
+    }
+}
@@ -0,0 +1,512 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+/**
+ * Reads values of a JDBC {@link ResultSet} which may be SQL NULL.
+ * Long and double values are read without boxing, and
+ * {@link #fetch(int, int)} fills
+ * nullable columns chosen by the column types of the result set.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableResultSet {
+
+    /**
+     * The result set.
+     */
+    private final ResultSet rset;
+
+    /**
+     * Constructor.
+     *
+     * @param rset The result set.
+     */
+    public NullableResultSet(final ResultSet rset) {
+        this.rset = rset;
+    }
+
+    /**
+     * Returns the long value of the column of the current row.
+     * @param column The column, starting from 1.
+     * @return The {@code Nullable} container.
+     * @throws SQLException If the value can't be read.
+     */
+    public Nullable<Long> getLong(final int column) throws SQLException {
+        final long value = this.rset.getLong(column);
+        return this.rset.wasNull()
+            ? Nullable.empty()
+            : new Nullable<>(value);
+    }
+
+    /**
+     * Returns the long value of the column of the current row
+     * or default value, without boxing.
+     * @param column The column, starting from 1.
+     * @param other A default value.
+     * @return The value, if not SQL NULL, otherwise the default value.
+     * @throws SQLException If the value can't be read.
+     */
+    public long getLongOr(final int column, final long other)
+        throws SQLException {
+        final long value = this.rset.getLong(column);
+        return this.rset.wasNull()
+            ? other
+            : value;
+    }
+
+    /**
+     * Returns the double value of the column of the current row.
+     * @param column The column, starting from 1.
+     * @return The {@code Nullable} container.
+     * @throws SQLException If the value can't be read.
+     */
+    public Nullable<Double> getDouble(final int column) throws SQLException {
+        final double value = this.rset.getDouble(column);
+        return this.rset.wasNull()
+            ? Nullable.empty()
+            : new Nullable<>(value);
+    }
+
+    /**
+     * Returns the double value of the column of the current row
+     * or default value, without boxing.
+     * @param column The column, starting from 1.
+     * @param other A default value.
+     * @return The value, if not SQL NULL, otherwise the default value.
+     * @throws SQLException If the value can't be read.
+     */
+    public double getDoubleOr(final int column, final double other)
+        throws SQLException {
+        final double value = this.rset.getDouble(column);
+        return this.rset.wasNull()
+            ? other
+            : value;
+    }
+
+    /**
+     * Returns the string value of the column of the current row.
+     * @param column The column, starting from 1.
+     * @return The {@code Nullable} container.
+     * @throws SQLException If the value can't be read.
+     */
+    public Nullable<String> getString(final int column) throws SQLException {
+        return Nullable.of(this.rset.getString(column));
+    }
+
+    /**
+     * Returns the value of the column of the current row.
+     * @param column The column, starting from 1.
+     * @param type The type of the value.
+     * @param <X> The type of the value.
+     * @return The {@code Nullable} container.
+     * @throws SQLException If the value can't be read.
+     */
+    public <X> Nullable<X> getObject(final int column, final Class<X> type)
+        throws SQLException {
+        return Nullable.of(this.rset.getObject(column, type));
+    }
+
+    /**
+     * Reads the remaining rows into columns.
+     * @param size The number of rows to fetch from the database at once.
+     * @return The columns.
+     * @throws SQLException If the values can't be read.
+     */
+    public Columns fetch(final int size) throws SQLException {
+        return this.fetch(size, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads at most the given number of next rows into columns, so that
+     * a large result set can be read in batches by repeated calls.
+     * Integer columns are read into {@link NullableLongColumn},
+     * floating-point columns into {@link NullableDoubleColumn},
+     * character columns into {@link NullableStringColumn}, and others
+     * into {@link NullableObjectColumn}. Decimal columns are among the
+     * others, so their values stay exact.
+     * @param size The number of rows to fetch from the database at once.
+     * @param rows The maximum number of rows to read.
+     * @return The columns, with no rows if the result set is exhausted.
+     * @throws SQLException If the values can't be read.
+     */
+    public Columns fetch(final int size, final int rows) throws SQLException {
+        if (rows < 0) {
+            throw new IllegalArgumentException(
+                String.format("Illegal number of rows: %d", rows)
+            );
+        }
+        this.rset.setFetchSize(size);
+        final ResultSetMetaData meta = this.rset.getMetaData();
+        final Column[] columns = new Column[meta.getColumnCount()];
+        for (int idx = 0; idx < columns.length; ++idx) {
+            columns[idx] = NullableResultSet.column(
+                meta.getColumnType(idx + 1), Math.min(rows, size)
+            );
+        }
+        for (int row = 0; row < rows && this.rset.next(); ++row) {
+            for (int idx = 0; idx < columns.length; ++idx) {
+                columns[idx].read(this.rset, idx + 1);
+            }
+        }
+        return new Columns(columns);
+    }
+
+    /**
+     * Returns an empty column for the SQL type.
+     * @param type The SQL type from {@link Types}.
+     * @param capacity The expected number of rows.
+     * @return The column.
+     */
+    private static Column column(final int type, final int capacity) {
+        final Column result;
+        switch (type) {
+            case Types.BIGINT:
+            case Types.INTEGER:
+            case Types.SMALLINT:
+            case Types.TINYINT:
+                result = new LongColumn(new NullableLongColumn(capacity));
+                break;
+            case Types.DOUBLE:
+            case Types.FLOAT:
+            case Types.REAL:
+                result = new DoubleColumn(new NullableDoubleColumn(capacity));
+                break;
+            case Types.CHAR:
+            case Types.VARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.NCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGNVARCHAR:
+                result = new StringColumn(new NullableStringColumn());
+                break;
+            default:
+                result = new ObjectColumn(
+                    new NullableObjectColumn<>(capacity)
+                );
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Columns read from a result set.
+     *
+     * @since 0.02
+     */
+    public static final class Columns {
+
+        /**
+         * The columns.
+         */
+        private final Column[] columns;
+
+        /**
+         * Constructor.
+         *
+         * @param columns The columns.
+         */
+        Columns(final Column[] columns) {
+            this.columns = columns;
+        }
+
+        /**
+         * Returns the number of columns.
+         * @return The number of columns.
+         */
+        public int size() {
+            return this.columns.length;
+        }
+
+        /**
+         * Returns an integer column.
+         * @param column The column, starting from 1.
+         * @return The column.
+         * @throws IllegalArgumentException If the column is not integer.
+         */
+        public NullableLongColumn longs(final int column) {
+            return this.column(column).longs(column);
+        }
+
+        /**
+         * Returns a floating-point column.
+         * @param column The column, starting from 1.
+         * @return The column.
+         * @throws IllegalArgumentException If the column is not
+         *  floating-point.
+         */
+        public NullableDoubleColumn doubles(final int column) {
+            return this.column(column).doubles(column);
+        }
+
+        /**
+         * Returns a character column.
+         * @param column The column, starting from 1.
+         * @return The column.
+         * @throws IllegalArgumentException If the column is not character.
+         */
+        public NullableStringColumn strings(final int column) {
+            return this.column(column).strings(column);
+        }
+
+        /**
+         * Returns a column of other values.
+         * @param column The column, starting from 1.
+         * @return The column.
+         * @throws IllegalArgumentException If the column is integer,
+         *  floating-point or character.
+         */
+        public NullableObjectColumn<Object> objects(final int column) {
+            return this.column(column).objects(column);
+        }
+
+        /**
+         * Returns a column.
+         * @param column The column, starting from 1.
+         * @return The column.
+         */
+        private Column column(final int column) {
+            if (column < 1 || column > this.columns.length) {
+                throw new IndexOutOfBoundsException(
+                    String.format(
+                        "Column %d, size %d", column, this.columns.length
+                    )
+                );
+            }
+            return this.columns[column - 1];
+        }
+    }
+
+    /**
+     * A column being read, typed by the SQL type.
+     *
+     * @since 0.02
+     */
+    private abstract static class Column {
+
+        /**
+         * Reads the value of the current row.
+         * @param rset The result set.
+         * @param column The column, starting from 1.
+         * @throws SQLException If the value can't be read.
+         */
+        abstract void read(ResultSet rset, int column) throws SQLException;
+
+        /**
+         * Returns the integer column.
+         * @param column The column, starting from 1.
+         * @return The column.
+         */
+        NullableLongColumn longs(final int column) {
+            throw Column.other(column);
+        }
+
+        /**
+         * Returns the floating-point column.
+         * @param column The column, starting from 1.
+         * @return The column.
+         */
+        NullableDoubleColumn doubles(final int column) {
+            throw Column.other(column);
+        }
+
+        /**
+         * Returns the character column.
+         * @param column The column, starting from 1.
+         * @return The column.
+         */
+        NullableStringColumn strings(final int column) {
+            throw Column.other(column);
+        }
+
+        /**
+         * Returns the column of other values.
+         * @param column The column, starting from 1.
+         * @return The column.
+         */
+        NullableObjectColumn<Object> objects(final int column) {
+            throw Column.other(column);
+        }
+
+        /**
+         * Makes the exception for a column of another type.
+         * @param column The column, starting from 1.
+         * @return The exception.
+         */
+        private static IllegalArgumentException other(final int column) {
+            return new IllegalArgumentException(
+                String.format("Column %d is of another type", column)
+            );
+        }
+    }
+
+    /**
+     * An integer column.
+     *
+     * @since 0.02
+     */
+    private static final class LongColumn extends Column {
+
+        /**
+         * The values.
+         */
+        private final NullableLongColumn values;
+
+        /**
+         * Constructor.
+         *
+         * @param values The values.
+         */
+        LongColumn(final NullableLongColumn values) {
+            super();
+            this.values = values;
+        }
+
+        @Override
+        void read(final ResultSet rset, final int column) throws SQLException {
+            final long value = rset.getLong(column);
+            if (rset.wasNull()) {
+                this.values.appendAbsent();
+            } else {
+                this.values.append(value);
+            }
+        }
+
+        @Override
+        NullableLongColumn longs(final int column) {
+            return this.values;
+        }
+    }
+
+    /**
+     * A floating-point column.
+     *
+     * @since 0.02
+     */
+    private static final class DoubleColumn extends Column {
+
+        /**
+         * The values.
+         */
+        private final NullableDoubleColumn values;
+
+        /**
+         * Constructor.
+         *
+         * @param values The values.
+         */
+        DoubleColumn(final NullableDoubleColumn values) {
+            super();
+            this.values = values;
+        }
+
+        @Override
+        void read(final ResultSet rset, final int column) throws SQLException {
+            final double value = rset.getDouble(column);
+            if (rset.wasNull()) {
+                this.values.appendAbsent();
+            } else {
+                this.values.append(value);
+            }
+        }
+
+        @Override
+        NullableDoubleColumn doubles(final int column) {
+            return this.values;
+        }
+    }
+
+    /**
+     * A character column.
+     *
+     * @since 0.02
+     */
+    private static final class StringColumn extends Column {
+
+        /**
+         * The values.
+         */
+        private final NullableStringColumn values;
+
+        /**
+         * Constructor.
+         *
+         * @param values The values.
+         */
+        StringColumn(final NullableStringColumn values) {
+            super();
+            this.values = values;
+        }
+
+        @Override
+        void read(final ResultSet rset, final int column) throws SQLException {
+            this.values.append(rset.getString(column));
+        }
+
+        @Override
+        NullableStringColumn strings(final int column) {
+            return this.values;
+        }
+    }
+
+    /**
+     * A column of other values.
+     *
+     * @since 0.02
+     */
+    private static final class ObjectColumn extends Column {
+
+        /**
+         * The values.
+         */
+        private final NullableObjectColumn<Object> values;
+
+        /**
+         * Constructor.
+         *
+         * @param values The values.
+         */
+        ObjectColumn(final NullableObjectColumn<Object> values) {
+            super();
+            this.values = values;
+        }
+
+        @Override
+        void read(final ResultSet rset, final int column) throws SQLException {
+            this.values.append(rset.getObject(column));
+        }
+
+        @Override
+        NullableObjectColumn<Object> objects(final int column) {
+            return this.values;
+        }
+    }
+}
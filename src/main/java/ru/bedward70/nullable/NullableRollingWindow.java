@@ -0,0 +1,357 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+/**
+ * Rolling aggregates over the last values of a series which may be absent.
+ * Values are pushed one by one, and memory stays constant.
+ * Absent values are skipped by the aggregates and counted.
+ * Minimum and maximum are kept in monotonic deques, so each push costs
+ * O(1) amortized. The window is not thread-safe.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableRollingWindow {
+
+    /**
+     * The number of values in the window.
+     */
+    private final int width;
+
+    /**
+     * The last values, by position modulo width.
+     */
+    private final long[] values;
+
+    /**
+     * The presence of the last values, by position modulo width.
+     */
+    private final boolean[] presence;
+
+    /**
+     * Positions of candidates for the minimum, values ascending.
+     */
+    private final Deque mins;
+
+    /**
+     * Positions of candidates for the maximum, values descending.
+     */
+    private final Deque maxs;
+
+    /**
+     * The number of pushed values.
+     */
+    private long position;
+
+    /**
+     * The sum of present values in the window.
+     */
+    private long sum;
+
+    /**
+     * The number of present values in the window.
+     */
+    private int present;
+
+    /**
+     * Constructor.
+     *
+     * @param width The number of values in the window.
+     */
+    public NullableRollingWindow(final int width) {
+        if (width < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal window width: %d", width)
+            );
+        }
+        this.width = width;
+        this.values = new long[width];
+        this.presence = new boolean[width];
+        this.mins = new Deque(width);
+        this.maxs = new Deque(width);
+    }
+
+    /**
+     * Pushes a present value, evicting the oldest one.
+     * @param value The value.
+     * @return This window.
+     */
+    public NullableRollingWindow push(final long value) {
+        this.evict();
+        final int slot = (int) (this.position % this.width);
+        this.values[slot] = value;
+        this.presence[slot] = true;
+        this.sum += value;
+        ++this.present;
+        while (!this.mins.isEmpty() && this.value(this.mins.last()) >= value) {
+            this.mins.removeLast();
+        }
+        this.mins.addLast(this.position);
+        while (!this.maxs.isEmpty() && this.value(this.maxs.last()) <= value) {
+            this.maxs.removeLast();
+        }
+        this.maxs.addLast(this.position);
+        ++this.position;
+        return this;
+    }
+
+    /**
+     * Pushes an absent value, evicting the oldest one.
+     * @return This window.
+     */
+    public NullableRollingWindow pushAbsent() {
+        this.evict();
+        this.presence[(int) (this.position % this.width)] = false;
+        ++this.position;
+        return this;
+    }
+
+    /**
+     * Pushes the value of the container, evicting the oldest one.
+     * @param value The container.
+     * @return This window.
+     */
+    public NullableRollingWindow push(final Nullable<Long> value) {
+        return value.isPresent()
+            ? this.push(value.get().longValue())
+            : this.pushAbsent();
+    }
+
+    /**
+     * Returns the number of present values in the window.
+     * @return The count.
+     */
+    public int countPresent() {
+        return this.present;
+    }
+
+    /**
+     * Returns the number of absent values in the window.
+     * @return The count.
+     */
+    public int countAbsent() {
+        return (int) Math.min(this.position, this.width) - this.present;
+    }
+
+    /**
+     * Returns the sum of present values in the window.
+     * @return The sum, absent if no value is present.
+     */
+    public Nullable<Long> sum() {
+        return this.present == 0
+            ? Nullable.empty()
+            : new Nullable<>(this.sum);
+    }
+
+    /**
+     * Returns the mean of present values in the window.
+     * @return The mean, absent if no value is present.
+     */
+    public Nullable<Double> mean() {
+        return this.present == 0
+            ? Nullable.empty()
+            : new Nullable<>((double) this.sum / this.present);
+    }
+
+    /**
+     * Returns the minimum of present values in the window.
+     * @return The minimum, absent if no value is present.
+     */
+    public Nullable<Long> min() {
+        return this.mins.isEmpty()
+            ? Nullable.empty()
+            : new Nullable<>(this.value(this.mins.first()));
+    }
+
+    /**
+     * Returns the maximum of present values in the window.
+     * @return The maximum, absent if no value is present.
+     */
+    public Nullable<Long> max() {
+        return this.maxs.isEmpty()
+            ? Nullable.empty()
+            : new Nullable<>(this.value(this.maxs.first()));
+    }
+
+    /**
+     * Returns the sum of present values in the window or default value,
+     * without boxing.
+     * @param other A default value.
+     * @return The sum, if a value is present, otherwise the default value.
+     */
+    public long sumOr(final long other) {
+        return this.present == 0
+            ? other
+            : this.sum;
+    }
+
+    /**
+     * Returns the mean of present values in the window or default value,
+     * without boxing.
+     * @param other A default value.
+     * @return The mean, if a value is present, otherwise the default value.
+     */
+    public double meanOr(final double other) {
+        return this.present == 0
+            ? other
+            : (double) this.sum / this.present;
+    }
+
+    /**
+     * Returns the minimum of present values in the window or default value,
+     * without boxing.
+     * @param other A default value.
+     * @return The minimum, if a value is present, otherwise the default
+     *  value.
+     */
+    public long minOr(final long other) {
+        return this.mins.isEmpty()
+            ? other
+            : this.value(this.mins.first());
+    }
+
+    /**
+     * Returns the maximum of present values in the window or default value,
+     * without boxing.
+     * @param other A default value.
+     * @return The maximum, if a value is present, otherwise the default
+     *  value.
+     */
+    public long maxOr(final long other) {
+        return this.maxs.isEmpty()
+            ? other
+            : this.value(this.maxs.first());
+    }
+
+    /**
+     * Removes the value leaving the window on the next push.
+     */
+    private void evict() {
+        if (this.position >= this.width) {
+            final long old = this.position - this.width;
+            final int slot = (int) (old % this.width);
+            if (this.presence[slot]) {
+                this.sum -= this.values[slot];
+                --this.present;
+                if (!this.mins.isEmpty() && this.mins.first() == old) {
+                    this.mins.removeFirst();
+                }
+                if (!this.maxs.isEmpty() && this.maxs.first() == old) {
+                    this.maxs.removeFirst();
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the value at the position in the window.
+     * @param pos The position.
+     * @return The value.
+     */
+    private long value(final long pos) {
+        return this.values[(int) (pos % this.width)];
+    }
+
+    /**
+     * A bounded double-ended queue of positions.
+     *
+     * @since 0.02
+     */
+    private static final class Deque {
+
+        /**
+         * The positions.
+         */
+        private final long[] items;
+
+        /**
+         * The index of the first position.
+         */
+        private int head;
+
+        /**
+         * The number of positions.
+         */
+        private int size;
+
+        /**
+         * Constructor.
+         *
+         * @param capacity The maximum number of positions.
+         */
+        Deque(final int capacity) {
+            this.items = new long[capacity];
+        }
+
+        /**
+         * Checks whether the deque is empty.
+         * @return True if empty.
+         */
+        boolean isEmpty() {
+            return this.size == 0;
+        }
+
+        /**
+         * Returns the first position.
+         * @return The position.
+         */
+        long first() {
+            return this.items[this.head];
+        }
+
+        /**
+         * Returns the last position.
+         * @return The position.
+         */
+        long last() {
+            return this.items[(this.head + this.size - 1) % this.items.length];
+        }
+
+        /**
+         * Removes the first position.
+         */
+        void removeFirst() {
+            this.head = (this.head + 1) % this.items.length;
+            --this.size;
+        }
+
+        /**
+         * Removes the last position.
+         */
+        void removeLast() {
+            --this.size;
+        }
+
+        /**
+         * Adds a position at the end.
+         * @param pos The position.
+         */
+        void addLast(final long pos) {
+            this.items[(this.head + this.size) % this.items.length] = pos;
+            ++this.size;
+        }
+    }
+}
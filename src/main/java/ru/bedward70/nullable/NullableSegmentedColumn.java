@@ -0,0 +1,242 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * A column of values which may be null, for one writer and many readers.
+ * Rows sit in fixed-size segments. Readers take an immutable
+ * {@link Snapshot} with one volatile read and never lock. The writer
+ * appends into the tail segment beyond the size of any published snapshot
+ * and publishes a new snapshot; a point update copies its segment.
+ * Segments no longer used by any snapshot are reclaimed by the garbage
+ * collector.
+ *
+ * @param <X> the type of values
+ * @since 0.02
+ */
+public final class NullableSegmentedColumn<X> {
+
+    /**
+     * Default base-2 logarithm of the segment size.
+     */
+    private static final int SHIFT = 10;
+
+    /**
+     * The base-2 logarithm of the segment size.
+     */
+    private final int shift;
+
+    /**
+     * The last published snapshot.
+     */
+    private volatile Snapshot<X> current;
+
+    /**
+     * Constructor.
+     */
+    public NullableSegmentedColumn() {
+        this(NullableSegmentedColumn.SHIFT);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param shift The base-2 logarithm of the segment size.
+     */
+    public NullableSegmentedColumn(final int shift) {
+        if (shift < 0 || shift > 30) {
+            throw new IllegalArgumentException(
+                String.format("Illegal segment shift: %d", shift)
+            );
+        }
+        this.shift = shift;
+        this.current = new Snapshot<>(new Object[0][], 0, shift);
+    }
+
+    /**
+     * Returns the last published state. Safe from any thread.
+     * @return The snapshot.
+     */
+    public Snapshot<X> snapshot() {
+        return this.current;
+    }
+
+    /**
+     * Appends a value and publishes it. For the writer thread only.
+     * @param value A nullable value.
+     * @return This column.
+     */
+    public NullableSegmentedColumn<X> append(final X value) {
+        final Snapshot<X> last = this.current;
+        final int size = last.size;
+        Object[][] segments = last.segments;
+        final int segment = size >>> this.shift;
+        if (segment == segments.length) {
+            segments = Arrays.copyOf(segments, segment + 1);
+            segments[segment] = new Object[1 << this.shift];
+        }
+        segments[segment][size & (1 << this.shift) - 1] = value;
+        this.current = new Snapshot<>(segments, size + 1, this.shift);
+        return this;
+    }
+
+    /**
+     * Replaces the value of a row, copying its segment, and publishes it.
+     * For the writer thread only.
+     * @param row The row.
+     * @param value A nullable value.
+     * @return This column.
+     */
+    public NullableSegmentedColumn<X> set(final int row, final X value) {
+        final Snapshot<X> last = this.current;
+        last.check(row);
+        final Object[][] segments = last.segments.clone();
+        final int segment = row >>> this.shift;
+        segments[segment] = segments[segment].clone();
+        segments[segment][row & (1 << this.shift) - 1] = value;
+        this.current = new Snapshot<>(segments, last.size, this.shift);
+        return this;
+    }
+
+    /**
+     * An immutable state of the column.
+     *
+     * @param <X> the type of values
+     * @since 0.02
+     */
+    public static final class Snapshot<X> {
+
+        /**
+         * The segments; rows beyond the size may change.
+         */
+        private final Object[][] segments;
+
+        /**
+         * The number of rows.
+         */
+        private final int size;
+
+        /**
+         * The base-2 logarithm of the segment size.
+         */
+        private final int shift;
+
+        /**
+         * Constructor.
+         *
+         * @param segments The segments.
+         * @param size The number of rows.
+         * @param shift The base-2 logarithm of the segment size.
+         */
+        Snapshot(final Object[][] segments, final int size, final int shift) {
+            this.segments = segments;
+            this.size = size;
+            this.shift = shift;
+        }
+
+        /**
+         * Returns the number of rows.
+         * @return The number of rows.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * Checks whether the row has a value.
+         * @param row The row.
+         * @return True if the value is present.
+         */
+        public boolean isPresent(final int row) {
+            return this.value(row) != null;
+        }
+
+        /**
+         * Returns the value of the row or default value.
+         * @param row The row.
+         * @param other A default value.
+         * @return The value, if present, otherwise the default value.
+         */
+        public X getOr(final int row, final X other) {
+            final X value = this.value(row);
+            final X result;
+            if (value == null) {
+                result = other;
+            } else {
+                result = value;
+            }
+            return result;
+        }
+
+        /**
+         * Returns the value of the row in a container.
+         * @param row The row.
+         * @return The {@code Nullable} container.
+         */
+        public Nullable<X> get(final int row) {
+            return Nullable.of(this.value(row));
+        }
+
+        /**
+         * Performs the consumer with each present value in order of rows.
+         * @param consumer The consumer.
+         */
+        public void forEachPresent(final Consumer<? super X> consumer) {
+            final int mask = (1 << this.shift) - 1;
+            for (int row = 0; row < this.size; ++row) {
+                final Object value = this.segments[row >>> this.shift][row & mask];
+                if (value != null) {
+                    consumer.accept((X) value);
+                }
+            }
+        }
+
+        /**
+         * Returns the value of the row.
+         * @param row The row.
+         * @return The value, may be null.
+         */
+        private X value(final int row) {
+            this.check(row);
+            return (X) this.segments[row >>> this.shift][
+                row & (1 << this.shift) - 1
+            ];
+        }
+
+        /**
+         * Checks the row index.
+         * @param row The row.
+         */
+        private void check(final int row) {
+            if (row < 0 || row >= this.size) {
+                throw new IndexOutOfBoundsException(
+                    String.format("Row %d, size %d", row, this.size)
+                );
+            }
+        }
+    }
+}
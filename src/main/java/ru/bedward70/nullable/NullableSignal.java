@@ -0,0 +1,316 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An observable cell with a value which may be null.
+ * A source signal is changed by {@link #set(Object)} from a single writer.
+ * Derived signals made by {@link #map(Function)}, {@link #filter(Predicate)},
+ * {@link #mapOrGet(Supplier)} and {@link #zip(NullableSignal, BiFunction)}
+ * are recomputed lazily on read, and only when one of their inputs is not
+ * equal to the previous one. A read sees all sources at one moment,
+ * without locks; functions must be free of side effects, because
+ * concurrent readers may evaluate them at the same time.
+ *
+ * @param <X> the type of value
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableSignal<X> {
+
+    /**
+     * No inputs.
+     */
+    private static final Nullable<?>[] NONE = new Nullable<?>[0];
+
+    /**
+     * The upstream signals, empty for a source.
+     */
+    private final NullableSignal<?>[] upstream;
+
+    /**
+     * The source signals this signal depends on.
+     */
+    private final NullableSignal<?>[] roots;
+
+    /**
+     * The function of upstream values, or null for a source.
+     */
+    private final Function<Nullable<?>[], Nullable<X>> formula;
+
+    /**
+     * The last computed state, or null.
+     */
+    private volatile State<X> state;
+
+    /**
+     * Constructor of a source signal.
+     *
+     * @param value A nullable value.
+     */
+    public NullableSignal(final X value) {
+        this.upstream = new NullableSignal<?>[0];
+        this.roots = new NullableSignal<?>[] {this};
+        this.formula = null;
+        this.state = new State<>(
+            Nullable.of(value), NullableSignal.NONE, new long[] {0L}
+        );
+    }
+
+    /**
+     * Constructor of a derived signal.
+     *
+     * @param upstream The upstream signals.
+     * @param formula The function of upstream values.
+     */
+    private NullableSignal(final NullableSignal<?>[] upstream,
+        final Function<Nullable<?>[], Nullable<X>> formula) {
+        final List<NullableSignal<?>> sources = new ArrayList<>(1);
+        for (final NullableSignal<?> signal : upstream) {
+            for (final NullableSignal<?> root : signal.roots) {
+                if (sources.stream().noneMatch(known -> known == root)) {
+                    sources.add(root);
+                }
+            }
+        }
+        this.upstream = upstream.clone();
+        this.roots = sources.toArray(new NullableSignal<?>[0]);
+        this.formula = formula;
+    }
+
+    /**
+     * Changes the value of a source signal.
+     * Nothing changes if the value equals the current one.
+     * @param value A nullable value.
+     * @return This signal.
+     * @throws IllegalStateException If the signal is derived.
+     */
+    public NullableSignal<X> set(final X value) {
+        if (this.formula != null) {
+            throw new IllegalStateException("Derived signal can't be set");
+        }
+        final Nullable<X> next = Nullable.of(value);
+        final State<X> current = this.state;
+        if (!current.value.equals(next)) {
+            this.state = new State<>(
+                next, NullableSignal.NONE, new long[] {current.stamps[0] + 1L}
+            );
+        }
+        return this;
+    }
+
+    /**
+     * Returns the current value, recomputing it if the sources changed.
+     * @return The {@code Nullable} container.
+     */
+    public Nullable<X> get() {
+        final State<X> current = this.state;
+        final Nullable<X> result;
+        if (this.formula == null) {
+            result = current.value;
+        } else if (current != null && this.fresh(current.stamps)) {
+            result = current.value;
+        } else {
+            result = this.compute(current);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a derived signal as {@link Nullable#map(Function)}.
+     * @param mapper The mapping function to apply to a value.
+     * @param <Y> The type of the value returned.
+     * @return The derived signal.
+     */
+    public <Y> NullableSignal<Y> map(
+        final Function<? super X, ? extends Y> mapper
+    ) {
+        return new NullableSignal<>(
+            new NullableSignal<?>[] {this},
+            inputs -> NullableSignal.<X>input(inputs, 0).map(mapper)
+        );
+    }
+
+    /**
+     * Returns a derived signal as {@link Nullable#filter(Predicate)}.
+     * @param predicate The predicate to apply to a value.
+     * @return The derived signal.
+     */
+    public NullableSignal<X> filter(final Predicate<? super X> predicate) {
+        return new NullableSignal<>(
+            new NullableSignal<?>[] {this},
+            inputs -> NullableSignal.<X>input(inputs, 0).filter(predicate)
+        );
+    }
+
+    /**
+     * Returns a derived signal as {@link Nullable#mapOrGet(Supplier)}.
+     * @param supplier A supplier of a default value.
+     * @return The derived signal.
+     */
+    public NullableSignal<X> mapOrGet(final Supplier<? extends X> supplier) {
+        return new NullableSignal<>(
+            new NullableSignal<?>[] {this},
+            inputs -> NullableSignal.<X>input(inputs, 0).mapOrGet(supplier)
+        );
+    }
+
+    /**
+     * Returns a derived signal combining two present values.
+     * @param other The other signal.
+     * @param combiner The function combining both values.
+     * @param <Y> The type of the other value.
+     * @param <Z> The type of the value returned.
+     * @return The derived signal, not present if any value is not present.
+     */
+    public <Y, Z> NullableSignal<Z> zip(final NullableSignal<Y> other,
+        final BiFunction<? super X, ? super Y, ? extends Z> combiner) {
+        return new NullableSignal<>(
+            new NullableSignal<?>[] {this, other},
+            inputs -> {
+                final Nullable<X> left = NullableSignal.input(inputs, 0);
+                final Nullable<Y> right = NullableSignal.input(inputs, 1);
+                return left.isPresent() && right.isPresent()
+                    ? Nullable.of(combiner.apply(left.get(), right.get()))
+                    : Nullable.empty();
+            }
+        );
+    }
+
+    @Override
+    public String toString() {
+        return this.get().appendTo(new StringBuilder("NullableSignal{"))
+            .append('}')
+            .toString();
+    }
+
+    /**
+     * Reads upstream values at one moment of the sources and computes.
+     * @param previous The previous state, or null.
+     * @return The computed value.
+     */
+    private Nullable<X> compute(final State<X> previous) {
+        long[] stamps;
+        Nullable<?>[] inputs;
+        do {
+            stamps = this.stamps();
+            inputs = new Nullable<?>[this.upstream.length];
+            for (int idx = 0; idx < inputs.length; ++idx) {
+                inputs[idx] = this.upstream[idx].get();
+            }
+        } while (!this.fresh(stamps));
+        final Nullable<X> value;
+        if (previous != null && Arrays.equals(previous.inputs, inputs)) {
+            value = previous.value;
+        } else {
+            value = this.formula.apply(inputs);
+        }
+        this.state = new State<>(value, inputs, stamps);
+        return value;
+    }
+
+    /**
+     * Checks that no source changed since the stamps were taken.
+     * @param stamps The versions of the sources.
+     * @return True if all sources have the same versions.
+     */
+    private boolean fresh(final long[] stamps) {
+        boolean result = true;
+        for (int idx = 0; result && idx < this.roots.length; ++idx) {
+            result = this.roots[idx].state.stamps[0] == stamps[idx];
+        }
+        return result;
+    }
+
+    /**
+     * Takes the current versions of the sources.
+     * @return The versions of the sources.
+     */
+    private long[] stamps() {
+        final long[] result = new long[this.roots.length];
+        for (int idx = 0; idx < result.length; ++idx) {
+            result[idx] = this.roots[idx].state.stamps[0];
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upstream value.
+     * @param inputs The upstream values.
+     * @param index The index of the upstream signal.
+     * @param <Y> The type of the value.
+     * @return The {@code Nullable} container.
+     */
+    private static <Y> Nullable<Y> input(final Nullable<?>[] inputs,
+        final int index) {
+        return (Nullable<Y>) inputs[index];
+    }
+
+    /**
+     * An immutable computed state.
+     *
+     * @param <Y> the type of value
+     * @since 0.02
+     */
+    private static final class State<Y> {
+
+        /**
+         * The value.
+         */
+        private final Nullable<Y> value;
+
+        /**
+         * The upstream values the value was computed from.
+         */
+        private final Nullable<?>[] inputs;
+
+        /**
+         * The versions of the sources, or the own version of a source.
+         */
+        private final long[] stamps;
+
+        /**
+         * Constructor.
+         *
+         * @param value The value.
+         * @param inputs The upstream values.
+         * @param stamps The versions of the sources.
+         */
+        State(final Nullable<Y> value, final Nullable<?>[] inputs,
+            final long[] stamps) {
+            this.value = value;
+            this.inputs = inputs;
+            this.stamps = stamps;
+        }
+    }
+}
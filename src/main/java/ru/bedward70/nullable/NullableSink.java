@@ -0,0 +1,367 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * An asynchronous consumer of present values, to be passed to
+ * {@link Nullable#ifPresent(Consumer)}.
+ * Values go into a bounded lock-free ring buffer, and a background
+ * thread drains them in batches to the target. {@link #close()} flushes
+ * the values accepted before it; with {@link Overflow#BLOCK}, values still
+ * waiting for room when the sink closes are counted as dropped.
+ *
+ * @param <X> the type of values
+ * @since 0.02
+ */
+public final class NullableSink<X> implements Consumer<X>, AutoCloseable {
+
+    /**
+     * Pause of the idle worker in nanoseconds.
+     */
+    private static final long IDLE = TimeUnit.MILLISECONDS.toNanos(1L);
+
+    /**
+     * The target of batches.
+     */
+    private final Consumer<? super List<X>> target;
+
+    /**
+     * The maximum number of values in a batch.
+     */
+    private final int batch;
+
+    /**
+     * What to do when the buffer is full.
+     */
+    private final Overflow overflow;
+
+    /**
+     * The values.
+     */
+    private final AtomicReferenceArray<X> items;
+
+    /**
+     * The sequence of each slot.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * The next position to write.
+     */
+    private final AtomicLong tail;
+
+    /**
+     * The next position to read, owned by the worker.
+     */
+    private long head;
+
+    /**
+     * Producers between the closed check and the end of enqueueing.
+     */
+    private final AtomicInteger producers;
+
+    /**
+     * Absent values skipped.
+     */
+    private final LongAdder skipped;
+
+    /**
+     * Present values dropped.
+     */
+    private final LongAdder dropped;
+
+    /**
+     * Batches failed in the target.
+     */
+    private final LongAdder errors;
+
+    /**
+     * The worker draining the buffer.
+     */
+    private final Thread worker;
+
+    /**
+     * Is the sink closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor.
+     *
+     * @param target The target of batches.
+     * @param capacity The capacity of the buffer, rounded up to a power of two.
+     * @param batch The maximum number of values in a batch.
+     * @param overflow What to do when the buffer is full.
+     */
+    public NullableSink(final Consumer<? super List<X>> target,
+        final int capacity, final int batch, final Overflow overflow) {
+        if (capacity < 1 || capacity > 1 << 30 || batch < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal capacity %d or batch %d", capacity, batch)
+            );
+        }
+        final int size = Integer.highestOneBit(capacity - 1 | 1) << 1;
+        this.target = target;
+        this.batch = batch;
+        this.overflow = overflow;
+        this.items = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int idx = 0; idx < size; ++idx) {
+            this.sequences.set(idx, idx);
+        }
+        this.tail = new AtomicLong();
+        this.producers = new AtomicInteger();
+        this.skipped = new LongAdder();
+        this.dropped = new LongAdder();
+        this.errors = new LongAdder();
+        this.worker = new Thread(this::drain, "nullable-sink");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Enqueues a present value.
+     * @param value The value, null is skipped.
+     * @throws IllegalStateException If the sink is closed.
+     */
+    @Override
+    public void accept(final X value) {
+        this.producers.incrementAndGet();
+        try {
+            if (this.closed) {
+                throw new IllegalStateException("Sink is closed");
+            }
+            if (value == null) {
+                this.skipped.increment();
+            } else if (!this.enqueue(value)) {
+                if (this.overflow == Overflow.BLOCK) {
+                    this.await(value);
+                } else if (this.overflow == Overflow.COUNT_AND_DROP) {
+                    this.dropped.increment();
+                }
+            }
+        } finally {
+            this.producers.decrementAndGet();
+        }
+    }
+
+    /**
+     * Enqueues the value of the container, counting absent values.
+     * @param nullable The container.
+     * @return The container.
+     */
+    public Nullable<X> offer(final Nullable<X> nullable) {
+        this.accept(nullable.get());
+        return nullable;
+    }
+
+    /**
+     * Returns the number of skipped absent values.
+     * @return The count.
+     */
+    public long skipped() {
+        return this.skipped.sum();
+    }
+
+    /**
+     * Returns the number of dropped present values.
+     * @return The count.
+     */
+    public long dropped() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Returns the number of batches failed in the target.
+     * @return The count.
+     */
+    public long errors() {
+        return this.errors.sum();
+    }
+
+    /**
+     * Stops accepting values, and waits until the worker delivers
+     * the values accepted before.
+     * An interrupt does not stop the waiting, and is restored on return.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.worker);
+        boolean interrupted = false;
+        while (this.worker.isAlive()) {
+            try {
+                this.worker.join();
+            } catch (final InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Waits for room for a value, until the sink is closed.
+     * @param value The value.
+     */
+    private void await(final X value) {
+        boolean waiting = true;
+        while (waiting) {
+            if (this.closed) {
+                this.dropped.increment();
+                waiting = false;
+            } else if (this.enqueue(value)) {
+                waiting = false;
+            } else {
+                LockSupport.parkNanos(this, NullableSink.IDLE);
+            }
+        }
+    }
+
+    /**
+     * Writes a value into a free slot.
+     * @param value The value.
+     * @return False if the buffer is full.
+     */
+    private boolean enqueue(final X value) {
+        final int mask = this.items.length() - 1;
+        long pos = this.tail.get();
+        boolean result = false;
+        while (true) {
+            final int idx = (int) pos & mask;
+            final long diff = this.sequences.get(idx) - pos;
+            if (diff == 0L) {
+                if (this.tail.compareAndSet(pos, pos + 1L)) {
+                    this.items.lazySet(idx, value);
+                    this.sequences.set(idx, pos + 1L);
+                    result = true;
+                    break;
+                }
+                pos = this.tail.get();
+            } else if (diff < 0L) {
+                break;
+            } else {
+                pos = this.tail.get();
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Takes the next value, for the worker only.
+     * @return The value, or null if the buffer is empty.
+     */
+    private X poll() {
+        final int idx = (int) this.head & this.items.length() - 1;
+        X result = null;
+        if (this.sequences.get(idx) == this.head + 1L) {
+            result = this.items.get(idx);
+            this.items.lazySet(idx, null);
+            this.sequences.set(idx, this.head + this.items.length());
+            ++this.head;
+        }
+        return result;
+    }
+
+    /**
+     * Delivers batches until the sink is closed, no producer is still
+     * enqueueing, and the buffer is empty.
+     * The last pass waits for slots claimed but not yet written.
+     */
+    private void drain() {
+        boolean more = true;
+        while (more) {
+            final boolean last = this.closed && this.producers.get() == 0;
+            final List<X> values = new ArrayList<>(this.batch);
+            X value = this.poll();
+            while (value != null || last && this.head != this.tail.get()) {
+                if (value == null) {
+                    Thread.yield();
+                } else {
+                    values.add(value);
+                    if (values.size() == this.batch) {
+                        this.deliver(values);
+                        values.clear();
+                    }
+                }
+                value = this.poll();
+            }
+            if (!values.isEmpty()) {
+                this.deliver(values);
+            }
+            if (last) {
+                more = false;
+            } else {
+                LockSupport.parkNanos(this, NullableSink.IDLE);
+            }
+        }
+    }
+
+    /**
+     * Delivers a batch to the target.
+     * @param values The batch.
+     */
+    private void deliver(final List<X> values) {
+        try {
+            this.target.accept(new ArrayList<>(values));
+        } catch (final RuntimeException ex) {
+            this.errors.increment();
+        }
+    }
+
+    /**
+     * What to do with a present value when the buffer is full.
+     *
+     * @since 0.02
+     */
+    public enum Overflow {
+
+        /**
+         * Wait until there is room.
+         */
+        BLOCK,
+
+        /**
+         * Drop the value.
+         */
+        DROP,
+
+        /**
+         * Drop the value and count it in {@link NullableSink#dropped()}.
+         */
+        COUNT_AND_DROP
+    }
+}
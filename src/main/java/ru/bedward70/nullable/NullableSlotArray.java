@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A fixed array of slots which may be empty, safe for many threads
+ * without locks. A slot is claimed by a compare-and-set on a word of the
+ * occupancy bitmap, and each thread starts its search at its own word
+ * to avoid contention.
+ *
+ * @param <X> the type of values
+ * @since 0.02
+ */
+public final class NullableSlotArray<X> {
+
+    /**
+     * Golden ratio multiplier for spreading threads.
+     */
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The values.
+     */
+    private final AtomicReferenceArray<X> slots;
+
+    /**
+     * The occupancy bitmap.
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * Constructor.
+     *
+     * @param capacity The number of slots.
+     */
+    public NullableSlotArray(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal capacity: %d", capacity)
+            );
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.bits = new AtomicLongArray((capacity + 63) >>> 6);
+    }
+
+    /**
+     * Returns the number of slots.
+     * @return The number of slots.
+     */
+    public int capacity() {
+        return this.slots.length();
+    }
+
+    /**
+     * Puts the value into a free slot.
+     * @param value The value.
+     * @return The slot, or -1 if all slots are taken.
+     * @throws NullPointerException If the value is null.
+     */
+    public int claim(final X value) {
+        Objects.requireNonNull(value, "Slot value is null");
+        final int words = this.bits.length();
+        final int start = (int) ((Thread.currentThread().getId()
+            * NullableSlotArray.GOLDEN >>> 32) % words);
+        int result = -1;
+        for (int step = 0; result < 0 && step < words; ++step) {
+            final int word = (start + step) % words;
+            long current = this.bits.get(word);
+            long free = ~current & this.mask(word);
+            while (result < 0 && free != 0L) {
+                final long bit = free & -free;
+                if (this.bits.compareAndSet(word, current, current | bit)) {
+                    result = (word << 6) + Long.numberOfTrailingZeros(bit);
+                    this.slots.set(result, value);
+                } else {
+                    current = this.bits.get(word);
+                    free = ~current & this.mask(word);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Frees the slot.
+     * @param slot The slot.
+     * @return True if the slot was taken.
+     */
+    public boolean release(final int slot) {
+        this.check(slot);
+        final long bit = 1L << slot;
+        final boolean result = (this.bits.get(slot >>> 6) & bit) != 0L
+            && this.slots.getAndSet(slot, null) != null;
+        if (result) {
+            this.bits.getAndUpdate(slot >>> 6, word -> word & ~bit);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of the slot.
+     * @param slot The slot.
+     * @return The {@code Nullable} container, absent for a free slot.
+     */
+    public Nullable<X> get(final int slot) {
+        this.check(slot);
+        return Nullable.of(this.slots.get(slot));
+    }
+
+    /**
+     * Performs the consumer with each value and its slot,
+     * visiting only taken slots.
+     * @param consumer The consumer.
+     */
+    public void forEachPresent(final ObjIntConsumer<? super X> consumer) {
+        for (int word = 0; word < this.bits.length(); ++word) {
+            long taken = this.bits.get(word);
+            while (taken != 0L) {
+                final int slot = (word << 6) + Long.numberOfTrailingZeros(taken);
+                final X value = this.slots.get(slot);
+                if (value != null) {
+                    consumer.accept(value, slot);
+                }
+                taken &= taken - 1L;
+            }
+        }
+    }
+
+    /**
+     * Returns the bits of the word that are real slots.
+     * @param word The word.
+     * @return The mask.
+     */
+    private long mask(final int word) {
+        final int rest = this.slots.length() - (word << 6);
+        final long result;
+        if (rest >= Long.SIZE) {
+            result = -1L;
+        } else {
+            result = (1L << rest) - 1L;
+        }
+        return result;
+    }
+
+    /**
+     * Checks the slot index.
+     * @param slot The slot.
+     */
+    private void check(final int slot) {
+        if (slot < 0 || slot >= this.slots.length()) {
+            throw new IndexOutOfBoundsException(
+                String.format("Slot %d, capacity %d", slot, this.slots.length())
+            );
+        }
+    }
+}
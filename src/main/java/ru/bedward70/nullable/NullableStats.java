@@ -0,0 +1,285 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counters of one {@link Nullable} call site.
+ * Tracing is on only if the {@code ru.bedward70.nullable.stats} system
+ * property is true; while it is off, {@link #trace(Nullable)} returns
+ * the container as is.
+ *
+ * @since 0.02
+ */
+public final class NullableStats implements NullableStatsMBean {
+
+    /**
+     * Default state of tracing.
+     */
+    private static final boolean ENABLED =
+        Boolean.getBoolean("ru.bedward70.nullable.stats");
+
+    /**
+     * Default sampling rate of latencies.
+     */
+    private static final int RATE = 64;
+
+    /**
+     * The call site name.
+     */
+    private final String name;
+
+    /**
+     * Is tracing enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * One of how many invocations is timed.
+     */
+    private final int rate;
+
+    /**
+     * Present values.
+     */
+    private final LongAdder present;
+
+    /**
+     * Absent values.
+     */
+    private final LongAdder absent;
+
+    /**
+     * Rejected values.
+     */
+    private final LongAdder rejected;
+
+    /**
+     * Invoked fallbacks.
+     */
+    private final LongAdder fallbacks;
+
+    /**
+     * Sampled mappers.
+     */
+    private final LongAdder msamples;
+
+    /**
+     * Time of sampled mappers.
+     */
+    private final LongAdder mnanos;
+
+    /**
+     * Sampled fallbacks.
+     */
+    private final LongAdder fsamples;
+
+    /**
+     * Time of sampled fallbacks.
+     */
+    private final LongAdder fnanos;
+
+    /**
+     * Constructor.
+     *
+     * @param name The call site name.
+     */
+    public NullableStats(final String name) {
+        this(name, NullableStats.ENABLED, NullableStats.RATE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param name The call site name.
+     * @param enabled Is tracing enabled.
+     * @param rate One of how many invocations is timed.
+     */
+    public NullableStats(final String name, final boolean enabled,
+        final int rate) {
+        if (rate < 1) {
+            throw new IllegalArgumentException(
+                String.format("Illegal sampling rate: %d", rate)
+            );
+        }
+        this.name = name;
+        this.enabled = enabled;
+        this.rate = rate;
+        this.present = new LongAdder();
+        this.absent = new LongAdder();
+        this.rejected = new LongAdder();
+        this.fallbacks = new LongAdder();
+        this.msamples = new LongAdder();
+        this.mnanos = new LongAdder();
+        this.fsamples = new LongAdder();
+        this.fnanos = new LongAdder();
+    }
+
+    /**
+     * Counts the container and returns a traced copy of it.
+     * @param nullable The container.
+     * @param <X> The type of the value.
+     * @return The traced container, or the container if tracing is off.
+     */
+    public <X> Nullable<X> trace(final Nullable<X> nullable) {
+        final Nullable<X> result;
+        if (this.enabled) {
+            if (nullable.isPresent()) {
+                this.present.increment();
+            } else {
+                this.absent.increment();
+            }
+            result = new TracedNullable<>(nullable.get(), this);
+        } else {
+            result = nullable;
+        }
+        return result;
+    }
+
+    /**
+     * Registers the counters in the platform MBean server.
+     * @return This.
+     * @throws JMException If the registration fails.
+     */
+    public NullableStats register() throws JMException {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(
+            this,
+            new ObjectName(
+                String.format(
+                    "ru.bedward70.nullable:type=NullableStats,name=%s",
+                    ObjectName.quote(this.name)
+                )
+            )
+        );
+        return this;
+    }
+
+    @Override
+    public long getPresent() {
+        return this.present.sum();
+    }
+
+    @Override
+    public long getAbsent() {
+        return this.absent.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return this.rejected.sum();
+    }
+
+    @Override
+    public long getFallbacks() {
+        return this.fallbacks.sum();
+    }
+
+    @Override
+    public long getMapperSamples() {
+        return this.msamples.sum();
+    }
+
+    @Override
+    public long getMapperNanos() {
+        return this.mnanos.sum();
+    }
+
+    @Override
+    public long getFallbackSamples() {
+        return this.fsamples.sum();
+    }
+
+    @Override
+    public long getFallbackNanos() {
+        return this.fnanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("NullableStats{")
+            .append("name=").append(this.name)
+            .append(", present=").append(this.getPresent())
+            .append(", absent=").append(this.getAbsent())
+            .append(", rejected=").append(this.getRejected())
+            .append(", fallbacks=").append(this.getFallbacks())
+            .append('}')
+            .toString();
+    }
+
+    /**
+     * Counts a present value rejected by a filter.
+     */
+    void reject() {
+        this.rejected.increment();
+    }
+
+    /**
+     * Applies a mapper, timing one of {@link #rate} invocations.
+     * @param supplier The mapper bound to the value.
+     * @param <Y> The type of the result.
+     * @return The result.
+     */
+    <Y> Y mapper(final Supplier<Y> supplier) {
+        return this.timed(supplier, this.msamples, this.mnanos);
+    }
+
+    /**
+     * Invokes a fallback, timing one of {@link #rate} invocations.
+     * @param supplier The fallback.
+     * @param <Y> The type of the result.
+     * @return The result.
+     */
+    <Y> Y fallback(final Supplier<Y> supplier) {
+        this.fallbacks.increment();
+        return this.timed(supplier, this.fsamples, this.fnanos);
+    }
+
+    /**
+     * Invokes a supplier, timing one of {@link #rate} invocations.
+     * @param supplier The supplier.
+     * @param samples The counter of samples.
+     * @param nanos The counter of time.
+     * @param <Y> The type of the result.
+     * @return The result.
+     */
+    private <Y> Y timed(final Supplier<Y> supplier, final LongAdder samples,
+        final LongAdder nanos) {
+        final Y result;
+        if (ThreadLocalRandom.current().nextInt(this.rate) == 0) {
+            final long start = System.nanoTime();
+            result = supplier.get();
+            nanos.add(System.nanoTime() - start);
+            samples.increment();
+        } else {
+            result = supplier.get();
+        }
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+/**
+ * JMX view of {@link NullableStats}.
+ *
+ * @since 0.02
+ */
+public interface NullableStatsMBean {
+
+    /**
+     * Returns the number of traced present values.
+     * @return The count.
+     */
+    long getPresent();
+
+    /**
+     * Returns the number of traced absent values.
+     * @return The count.
+     */
+    long getAbsent();
+
+    /**
+     * Returns the number of present values rejected by a filter.
+     * @return The count.
+     */
+    long getRejected();
+
+    /**
+     * Returns the number of invoked fallback suppliers.
+     * @return The count.
+     */
+    long getFallbacks();
+
+    /**
+     * Returns the number of sampled mapper invocations.
+     * @return The count.
+     */
+    long getMapperSamples();
+
+    /**
+     * Returns the total time of sampled mapper invocations.
+     * @return The time in nanoseconds.
+     */
+    long getMapperNanos();
+
+    /**
+     * Returns the number of sampled fallback invocations.
+     * @return The count.
+     */
+    long getFallbackSamples();
+
+    /**
+     * Returns the total time of sampled fallback invocations.
+     * @return The time in nanoseconds.
+     */
+    long getFallbackNanos();
+}
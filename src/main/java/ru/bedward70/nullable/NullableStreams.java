@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Operators over streams of {@link Nullable} elements.
+ * The operators are lazy stream stages, so adjacent operators run
+ * in one pass per element and only as fast as the terminal operation
+ * pulls them. {@link NullableFlow} has the same operators over
+ * publishers of containers.
+ *
+ * @since 0.02
+ */
+public final class NullableStreams {
+
+    /**
+     * Utility class.
+     */
+    private NullableStreams() {
+    }
+
+    /**
+     * Returns the present values of the stream.
+     * @param stream The stream of containers.
+     * @param <X> The type of the value.
+     * @return The stream of present values.
+     */
+    public static <X> Stream<X> presentOnly(
+        final Stream<? extends Nullable<? extends X>> stream
+    ) {
+        return stream.filter(Nullable::isPresent).map(Nullable::get);
+    }
+
+    /**
+     * Maps the present values of the stream, keeping absent elements.
+     * @param stream The stream of containers.
+     * @param mapper The mapping function to apply to a value.
+     * @param <X> The type of the value.
+     * @param <Y> The type of the value returned.
+     * @return The stream of mapped containers.
+     */
+    public static <X, Y> Stream<Nullable<Y>> mapPresent(
+        final Stream<? extends Nullable<X>> stream,
+        final Function<? super X, ? extends Y> mapper
+    ) {
+        return stream.map(nullable -> nullable.map(mapper));
+    }
+
+    /**
+     * Replaces absent elements of the stream by produced values.
+     * @param stream The stream of containers.
+     * @param supplier A supplier of a default value.
+     * @param <X> The type of the value.
+     * @return The stream of filled containers.
+     */
+    public static <X> Stream<Nullable<X>> fillAbsent(
+        final Stream<? extends Nullable<X>> stream,
+        final Supplier<? extends X> supplier
+    ) {
+        return stream.map(nullable -> nullable.mapOrGet(supplier));
+    }
+
+    /**
+     * Counts absent elements of the stream as they pass.
+     * The counting stage is a filter, so a terminal operation cannot
+     * skip it the way it may skip {@link Stream#peek}; the counter still
+     * covers only the elements the terminal operation pulls.
+     * @param stream The stream of containers.
+     * @param counter The counter of absent elements.
+     * @param <X> The type of the value.
+     * @return The same stream of containers.
+     */
+    public static <X> Stream<Nullable<X>> countAbsent(
+        final Stream<Nullable<X>> stream,
+        final LongAdder counter
+    ) {
+        return stream.filter(
+            nullable -> {
+                if (!nullable.isPresent()) {
+                    counter.increment();
+                }
+                return true;
+            }
+        );
+    }
+}
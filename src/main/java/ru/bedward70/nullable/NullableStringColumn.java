@@ -0,0 +1,281 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * An append-only, dictionary-encoded column of strings which may be absent.
+ * Each row keeps an int code of a distinct string, so equal strings
+ * are stored once, and predicates are evaluated once per distinct string.
+ * The column is not thread-safe.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableStringColumn {
+
+    /**
+     * Default capacity.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * The code of an absent value.
+     */
+    private static final int ABSENT = -1;
+
+    /**
+     * The distinct strings.
+     */
+    private final List<String> dictionary;
+
+    /**
+     * The codes of distinct strings.
+     */
+    private final Map<String, Integer> codes;
+
+    /**
+     * The code of each row.
+     */
+    private int[] rows;
+
+    /**
+     * The number of rows.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public NullableStringColumn() {
+        this.dictionary = new ArrayList<>(NullableStringColumn.CAPACITY);
+        this.codes = new HashMap<>(NullableStringColumn.CAPACITY);
+        this.rows = new int[NullableStringColumn.CAPACITY];
+    }
+
+    /**
+     * Appends a value.
+     * @param value A nullable value.
+     * @return This column.
+     */
+    public NullableStringColumn append(final String value) {
+        final int code;
+        if (value == null) {
+            code = NullableStringColumn.ABSENT;
+        } else {
+            code = this.codes.computeIfAbsent(
+                value,
+                key -> {
+                    this.dictionary.add(key);
+                    return this.dictionary.size() - 1;
+                }
+            );
+        }
+        return this.appendCode(code);
+    }
+
+    /**
+     * Appends the value of the container.
+     * @param value The container.
+     * @return This column.
+     */
+    public NullableStringColumn append(final Nullable<String> value) {
+        return this.append(value.get());
+    }
+
+    /**
+     * Appends an absent value.
+     * @return This column.
+     */
+    public NullableStringColumn appendAbsent() {
+        return this.appendCode(NullableStringColumn.ABSENT);
+    }
+
+    /**
+     * Returns the number of rows.
+     * @return The number of rows.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of distinct strings.
+     * @return The number of distinct strings.
+     */
+    public int cardinality() {
+        return this.dictionary.size();
+    }
+
+    /**
+     * Checks whether the row has a value.
+     * @param row The row.
+     * @return True if the value is present.
+     */
+    public boolean isPresent(final int row) {
+        return this.code(row) != NullableStringColumn.ABSENT;
+    }
+
+    /**
+     * Returns the value of the row or default value.
+     * @param row The row.
+     * @param other A default value.
+     * @return The value, if present, otherwise the default value.
+     */
+    public String getOr(final int row, final String other) {
+        final int code = this.code(row);
+        return code == NullableStringColumn.ABSENT
+            ? other
+            : this.dictionary.get(code);
+    }
+
+    /**
+     * Returns the value of the row in a container.
+     * @param row The row.
+     * @return The {@code Nullable} container.
+     */
+    public Nullable<String> get(final int row) {
+        return Nullable.of(this.getOr(row, null));
+    }
+
+    /**
+     * Returns the rows with the value.
+     * @param value The value.
+     * @return The rows in ascending order.
+     */
+    public int[] equalTo(final String value) {
+        final boolean[] matches = new boolean[this.dictionary.size()];
+        final Integer code = this.codes.get(value);
+        if (code != null) {
+            matches[code] = true;
+        }
+        return this.rows(matches);
+    }
+
+    /**
+     * Returns the rows with present values matching the predicate.
+     * The predicate is tested once per distinct string.
+     * @param predicate The predicate to apply to a value.
+     * @return The rows in ascending order.
+     */
+    public int[] filter(final Predicate<? super String> predicate) {
+        final boolean[] matches = new boolean[this.dictionary.size()];
+        for (int code = 0; code < matches.length; ++code) {
+            matches[code] = predicate.test(this.dictionary.get(code));
+        }
+        return this.rows(matches);
+    }
+
+    /**
+     * Maps present values, applying the mapper once per distinct string.
+     * @param mapper The mapping function to apply to a value.
+     * @return The column of results, absent where the mapper returns null.
+     */
+    public NullableStringColumn map(
+        final Function<? super String, String> mapper
+    ) {
+        final NullableStringColumn result = new NullableStringColumn();
+        final int[] recode = new int[this.dictionary.size()];
+        for (int code = 0; code < recode.length; ++code) {
+            final String value = mapper.apply(this.dictionary.get(code));
+            if (value == null) {
+                recode[code] = NullableStringColumn.ABSENT;
+            } else {
+                recode[code] = result.codes.computeIfAbsent(
+                    value,
+                    key -> {
+                        result.dictionary.add(key);
+                        return result.dictionary.size() - 1;
+                    }
+                );
+            }
+        }
+        result.rows = new int[Math.max(this.size, NullableStringColumn.CAPACITY)];
+        for (int row = 0; row < this.size; ++row) {
+            final int code = this.rows[row];
+            result.rows[row] = code == NullableStringColumn.ABSENT
+                ? NullableStringColumn.ABSENT
+                : recode[code];
+        }
+        result.size = this.size;
+        return result;
+    }
+
+    /**
+     * Returns the rows whose codes match.
+     * @param matches The matching codes.
+     * @return The rows in ascending order.
+     */
+    private int[] rows(final boolean[] matches) {
+        int[] result = new int[NullableStringColumn.CAPACITY];
+        int count = 0;
+        for (int row = 0; row < this.size; ++row) {
+            final int code = this.rows[row];
+            if (code != NullableStringColumn.ABSENT && matches[code]) {
+                if (count == result.length) {
+                    result = Arrays.copyOf(result, count << 1);
+                }
+                result[count] = row;
+                ++count;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Returns the code of the row.
+     * @param row The row.
+     * @return The code.
+     */
+    private int code(final int row) {
+        if (row < 0 || row >= this.size) {
+            throw new IndexOutOfBoundsException(
+                String.format("Row %d, size %d", row, this.size)
+            );
+        }
+        return this.rows[row];
+    }
+
+    /**
+     * Appends a code.
+     * @param code The code.
+     * @return This column.
+     */
+    private NullableStringColumn appendCode(final int code) {
+        if (this.size == this.rows.length) {
+            this.rows = Arrays.copyOf(this.rows, this.size << 1);
+        }
+        this.rows[this.size] = code;
+        ++this.size;
+        return this;
+    }
+}
@@ -0,0 +1,239 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Objects;
+
+/**
+ * A map from keys to values which may be known absent.
+ * Like {@link LongNullableMap}, it keeps keys and raw values in flat
+ * arrays with open addressing, so there is no map node or
+ * {@link Nullable} per entry, and every known-absent key holds one
+ * shared sentinel.
+ * The map is not thread-safe.
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class ObjectNullableMap<K, V> {
+
+    /**
+     * Default capacity.
+     */
+    private static final int CAPACITY = 16;
+
+    /**
+     * Golden ratio multiplier for hashing.
+     */
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    /**
+     * The keys, null for a free slot.
+     */
+    private Object[] keys;
+
+    /**
+     * The values, the shared sentinel for a known-absent key.
+     */
+    private Object[] values;
+
+    /**
+     * The number of keys.
+     */
+    private int size;
+
+    /**
+     * Constructor.
+     */
+    public ObjectNullableMap() {
+        this(ObjectNullableMap.CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param expected The expected number of keys.
+     */
+    public ObjectNullableMap(final int expected) {
+        this.keys = new Object[LongNullableMap.capacity(expected)];
+        this.values = new Object[this.keys.length];
+    }
+
+    /**
+     * Returns the number of keys, present and known to be absent.
+     * @return The number of keys.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Checks whether the key is known, present or absent.
+     * @param key The key.
+     * @return True if the key is known.
+     */
+    public boolean contains(final K key) {
+        return this.keys[this.slot(key)] != null;
+    }
+
+    /**
+     * Checks whether the key has a present value.
+     * @param key The key.
+     * @return True if the value is present.
+     */
+    public boolean isPresent(final K key) {
+        final Object value = this.values[this.slot(key)];
+        return value != null && value != LongNullableMap.ABSENT;
+    }
+
+    /**
+     * Returns the value of the key or default value, without allocating.
+     * @param key The key.
+     * @param other The value to return if the key is absent or missing.
+     * @return The value, if present, otherwise the default value.
+     */
+    public V getOr(final K key, final V other) {
+        return LongNullableMap.valueOr(this.values[this.slot(key)], other);
+    }
+
+    /**
+     * Points the view at the value of the key, without allocating.
+     * The view has no value if the key is absent or missing, use
+     * {@link #contains(Object)} to tell them apart.
+     * @param key The key.
+     * @param view The view.
+     * @return The view.
+     */
+    public NullableCursor<V> get(final K key, final NullableCursor<V> view) {
+        return view.point(this.getOr(key, null));
+    }
+
+    /**
+     * Associates the key with the value.
+     * @param key The key.
+     * @param value The value, null marks the key as known to be absent.
+     * @return This map.
+     * @throws NullPointerException If the key is null.
+     */
+    public ObjectNullableMap<K, V> put(final K key, final V value) {
+        Objects.requireNonNull(key, "Key is null");
+        int slot = this.slot(key);
+        if (this.keys[slot] == null) {
+            if ((this.size + 1) * 4L >= this.keys.length * 3L) {
+                this.resize();
+                slot = this.slot(key);
+            }
+            this.keys[slot] = key;
+            ++this.size;
+        }
+        this.values[slot] = value == null
+            ? LongNullableMap.ABSENT
+            : value;
+        return this;
+    }
+
+    /**
+     * Associates the key with the value of the container.
+     * An absent container marks the key as known to be absent.
+     * @param key The key.
+     * @param value The container.
+     * @return This map.
+     */
+    public ObjectNullableMap<K, V> put(final K key,
+        final Nullable<? extends V> value) {
+        return this.put(key, value.get());
+    }
+
+    /**
+     * Forgets the key.
+     * @param key The key.
+     * @return True if the key was known.
+     */
+    public boolean remove(final K key) {
+        int gap = this.slot(key);
+        final boolean result = this.keys[gap] != null;
+        if (result) {
+            final int mask = this.keys.length - 1;
+            int idx = (gap + 1) & mask;
+            while (this.keys[idx] != null) {
+                final int home = ObjectNullableMap.home(this.keys[idx], mask);
+                if (((idx - home) & mask) >= ((idx - gap) & mask)) {
+                    this.keys[gap] = this.keys[idx];
+                    this.values[gap] = this.values[idx];
+                    gap = idx;
+                }
+                idx = (idx + 1) & mask;
+            }
+            this.keys[gap] = null;
+            this.values[gap] = null;
+            --this.size;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the preferred slot of the key.
+     * @param key The key.
+     * @param mask The mask of slots.
+     * @return The slot.
+     */
+    private static int home(final Object key, final int mask) {
+        return (int) ((key.hashCode() * ObjectNullableMap.GOLDEN) >>> 32)
+            & mask;
+    }
+
+    /**
+     * Returns the slot of the key, or the free slot for it.
+     * @param key The key.
+     * @return The slot.
+     */
+    private int slot(final Object key) {
+        final int mask = this.keys.length - 1;
+        int idx = ObjectNullableMap.home(key, mask);
+        while (this.keys[idx] != null && !this.keys[idx].equals(key)) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    /**
+     * Doubles the capacity.
+     */
+    private void resize() {
+        final Object[] okeys = this.keys;
+        final Object[] ovalues = this.values;
+        this.keys = new Object[LongNullableMap.grown(okeys.length)];
+        this.values = new Object[this.keys.length];
+        for (int idx = 0; idx < okeys.length; ++idx) {
+            if (okeys[idx] != null) {
+                final int slot = this.slot(okeys[idx]);
+                this.keys[slot] = okeys[idx];
+                this.values[slot] = ovalues[idx];
+            }
+        }
+    }
+}
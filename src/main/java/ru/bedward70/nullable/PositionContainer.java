@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.function.IntConsumer;
+
+/**
+ * A chunk of up to 65536 positions, addressed by their low 16 bits.
+ *
+ * @since 0.02
+ */
+interface PositionContainer {
+
+    /**
+     * Returns the number of positions.
+     * @return The count.
+     */
+    int cardinality();
+
+    /**
+     * Checks whether the position is present.
+     * @param low The low 16 bits of the position.
+     * @return True if present.
+     */
+    boolean contains(int low);
+
+    /**
+     * Counts the positions not greater than the position.
+     * @param low The low 16 bits of the position.
+     * @return The count.
+     */
+    int rank(int low);
+
+    /**
+     * Returns the position of the given rank.
+     * @param rank The zero-based rank.
+     * @return The low 16 bits of the position.
+     */
+    int select(int rank);
+
+    /**
+     * Sets the bits of the positions.
+     * @param words The cleared words of a chunk.
+     */
+    void words(long[] words);
+
+    /**
+     * Performs the consumer with each position in ascending order.
+     * @param base The high bits of positions.
+     * @param consumer The consumer.
+     */
+    void forEach(int base, IntConsumer consumer);
+}
@@ -0,0 +1,211 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A list of runs of consecutive positions.
+ * The number of positions before each run is kept aside, so rank and
+ * select are binary searches rather than walks over the runs.
+ *
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (300 lines)
+ * @checkstyle MagicNumberCheck (300 lines)
+ */
+final class RunContainer implements PositionContainer {
+
+    /**
+     * Positions in a chunk.
+     */
+    private static final int CHUNK = 65_536;
+
+    /**
+     * The first position of each run, ascending.
+     */
+    private final char[] starts;
+
+    /**
+     * The length of each run minus one.
+     */
+    private final char[] lengths;
+
+    /**
+     * The number of positions before each run, and in total.
+     */
+    private final int[] ranks;
+
+    /**
+     * Constructor.
+     *
+     * @param starts The first position of each run.
+     * @param lengths The length of each run minus one.
+     */
+    RunContainer(final char[] starts, final char[] lengths) {
+        this.starts = starts;
+        this.lengths = lengths;
+        this.ranks = new int[lengths.length + 1];
+        for (int idx = 0; idx < lengths.length; ++idx) {
+            this.ranks[idx + 1] = this.ranks[idx] + lengths[idx] + 1;
+        }
+    }
+
+    /**
+     * Returns the container of the set bits.
+     * @param words The words of a chunk.
+     * @param runs The number of runs.
+     * @return The container.
+     */
+    static RunContainer of(final long[] words, final int runs) {
+        final char[] starts = new char[runs];
+        final char[] lengths = new char[runs];
+        int run = 0;
+        int start = RunContainer.nextSet(words, 0);
+        while (start >= 0) {
+            final int end = RunContainer.nextClear(words, start);
+            starts[run] = (char) start;
+            lengths[run] = (char) (end - start - 1);
+            ++run;
+            start = RunContainer.nextSet(words, end);
+        }
+        return new RunContainer(starts, lengths);
+    }
+
+    @Override
+    public int cardinality() {
+        return this.ranks[this.starts.length];
+    }
+
+    @Override
+    public boolean contains(final int low) {
+        final int idx = this.run(low);
+        return idx >= 0 && low - this.starts[idx] <= this.lengths[idx];
+    }
+
+    @Override
+    public int rank(final int low) {
+        final int last = this.run(low);
+        int result = 0;
+        if (last >= 0) {
+            result = this.ranks[last]
+                + Math.min(low - this.starts[last], this.lengths[last]) + 1;
+        }
+        return result;
+    }
+
+    @Override
+    public int select(final int rank) {
+        int idx = Arrays.binarySearch(
+            this.ranks, 0, this.starts.length, rank
+        );
+        if (idx < 0) {
+            idx = -idx - 2;
+        }
+        return this.starts[idx] + rank - this.ranks[idx];
+    }
+
+    @Override
+    public void words(final long[] words) {
+        for (int idx = 0; idx < this.starts.length; ++idx) {
+            final int start = this.starts[idx];
+            final int end = start + this.lengths[idx];
+            for (int word = start >>> 6; word <= end >>> 6; ++word) {
+                long mask = -1L;
+                if (word == start >>> 6) {
+                    mask &= -1L << start;
+                }
+                if (word == end >>> 6) {
+                    mask &= -1L >>> (63 - (end & 63));
+                }
+                words[word] |= mask;
+            }
+        }
+    }
+
+    @Override
+    public void forEach(final int base, final IntConsumer consumer) {
+        for (int idx = 0; idx < this.starts.length; ++idx) {
+            final int end = this.starts[idx] + this.lengths[idx];
+            for (int low = this.starts[idx]; low <= end; ++low) {
+                consumer.accept(base | low);
+            }
+        }
+    }
+
+    /**
+     * Finds the last run starting at or before the position.
+     * @param low The low 16 bits of the position.
+     * @return The index of the run, or -1.
+     */
+    private int run(final int low) {
+        final int idx = Arrays.binarySearch(this.starts, (char) low);
+        return idx >= 0
+            ? idx
+            : -idx - 2;
+    }
+
+    /**
+     * Returns the first set bit at or after the position, or -1.
+     * @param words The words of a chunk.
+     * @param from The position.
+     * @return The position of the set bit, or -1.
+     */
+    private static int nextSet(final long[] words, final int from) {
+        int result = -1;
+        if (from < RunContainer.CHUNK) {
+            int idx = from >>> 6;
+            long word = words[idx] & -1L << from;
+            while (word == 0L && ++idx < words.length) {
+                word = words[idx];
+            }
+            if (word != 0L) {
+                result = (idx << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the first clear bit at or after the position.
+     * @param words The words of a chunk.
+     * @param from The position.
+     * @return The position of the clear bit, or the chunk size.
+     */
+    private static int nextClear(final long[] words, final int from) {
+        int result = RunContainer.CHUNK;
+        if (from < RunContainer.CHUNK) {
+            int idx = from >>> 6;
+            long word = ~words[idx] & -1L << from;
+            while (word == 0L && ++idx < words.length) {
+                word = ~words[idx];
+            }
+            if (word != 0L) {
+                result = (idx << 6) + Long.numberOfTrailingZeros(word);
+            }
+        }
+        return result;
+    }
+}
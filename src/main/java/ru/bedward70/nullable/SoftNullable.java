@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * A container holding its value through a soft or weak reference.
+ * The value becomes not present once the garbage collector clears it,
+ * and {@link #getOrGet(Supplier)} and {@link #mapOrGet(Supplier)}
+ * recompute and cache it again.
+ *
+ * @param <X> the type of value
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class SoftNullable<X> {
+
+    /**
+     * The factory of references.
+     */
+    private final BiFunction<X, ReferenceQueue<X>, Reference<X>> factory;
+
+    /**
+     * The queue of cleared references.
+     */
+    private final ReferenceQueue<X> queue;
+
+    /**
+     * The hook to run for each cleared reference.
+     */
+    private final Runnable hook;
+
+    /**
+     * The number of cleared references.
+     */
+    private final LongAdder clears;
+
+    /**
+     * The reference to the value, or null.
+     */
+    private volatile Reference<X> reference;
+
+    /**
+     * Constructor of a soft container without a value.
+     */
+    public SoftNullable() {
+        this(SoftReference::new, () -> { });
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param factory The factory of references.
+     * @param hook The hook to run for each cleared reference.
+     */
+    public SoftNullable(
+        final BiFunction<X, ReferenceQueue<X>, Reference<X>> factory,
+        final Runnable hook
+    ) {
+        this.factory = factory;
+        this.hook = hook;
+        this.queue = new ReferenceQueue<>();
+        this.clears = new LongAdder();
+    }
+
+    /**
+     * Returns a container holding its value through a weak reference.
+     * @param <X> The type of the value.
+     * @return The container without a value.
+     */
+    public static <X> SoftNullable<X> weak() {
+        return new SoftNullable<>(WeakReference::new, () -> { });
+    }
+
+    /**
+     * Replaces the value. The reference to the replaced value is cleared,
+     * so it is never enqueued and does not count as a clear.
+     * @param value A nullable value.
+     * @return This container.
+     */
+    public SoftNullable<X> set(final X value) {
+        this.expunge();
+        final Reference<X> previous = this.reference;
+        if (previous != null) {
+            previous.clear();
+        }
+        this.reference = value == null
+            ? null
+            : this.factory.apply(value, this.queue);
+        return this;
+    }
+
+    /**
+     * Returns the value.
+     * @return The value, or null if absent or cleared.
+     */
+    public X get() {
+        this.expunge();
+        final Reference<X> ref = this.reference;
+        return ref == null
+            ? null
+            : ref.get();
+    }
+
+    /**
+     * Returns the value or default value.
+     * @param other A default value.
+     * @return The value, if present, otherwise the default value.
+     */
+    public X getOr(final X other) {
+        final X value = this.get();
+        return value == null
+            ? other
+            : value;
+    }
+
+    /**
+     * Returns the value or caches a produced value.
+     * @param supplier A supplier of the value.
+     * @return The value, if present, otherwise the result produced by the supplying function.
+     * @throws NullPointerException If value is not present and the supplier is null.
+     */
+    public X getOrGet(final Supplier<? extends X> supplier) {
+        X value = this.get();
+        if (value == null) {
+            value = supplier.get();
+            this.set(value);
+        }
+        return value;
+    }
+
+    /**
+     * Returns the value or caches a produced value.
+     * @param supplier A supplier of the value.
+     * @return An {@code Nullable} container with the value.
+     * @throws NullPointerException If value is not present and the supplier is null.
+     */
+    public Nullable<X> mapOrGet(final Supplier<? extends X> supplier) {
+        return Nullable.of(this.getOrGet(supplier));
+    }
+
+    /**
+     * If a value is present, returns true, otherwise false.
+     * @return True if a value is present, otherwise false.
+     */
+    public boolean isPresent() {
+        return this.get() != null;
+    }
+
+    /**
+     * Returns a container strongly holding the current value.
+     * @return The {@code Nullable} container.
+     */
+    public Nullable<X> snapshot() {
+        return Nullable.of(this.get());
+    }
+
+    /**
+     * Returns the number of references cleared by the garbage collector.
+     * @return The count.
+     */
+    public long clears() {
+        this.expunge();
+        return this.clears.sum();
+    }
+
+    @Override
+    public String toString() {
+        final X value = this.get();
+        return value == null
+            ? "SoftNullable.null"
+            : new StringBuilder("SoftNullable[")
+                .append(value).append(']').toString();
+    }
+
+    /**
+     * Counts cleared references and runs the hook for each of them.
+     */
+    private void expunge() {
+        Reference<? extends X> ref = this.queue.poll();
+        while (ref != null) {
+            this.clears.increment();
+            this.hook.run();
+            ref = this.queue.poll();
+        }
+    }
+}
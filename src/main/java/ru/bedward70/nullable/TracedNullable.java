@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * A {@link Nullable} reporting to {@link NullableStats}.
+ *
+ * @param <X> the type of value
+ * @since 0.02
+ *
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+final class TracedNullable<X> extends Nullable<X> {
+
+    /**
+     * The counters.
+     */
+    private final NullableStats stats;
+
+    /**
+     * Constructor.
+     *
+     * @param value A nullable value.
+     * @param stats The counters.
+     */
+    TracedNullable(final X value, final NullableStats stats) {
+        super(value);
+        this.stats = stats;
+    }
+
+    @Override
+    public X getOrGet(final Supplier<? extends X> supplier) {
+        return this.isPresent()
+            ? this.get()
+            : this.stats.fallback(supplier);
+    }
+
+    @Override
+    public Nullable<X> filter(final Predicate<? super X> predicate) {
+        final Nullable<X> result;
+        if (!this.isPresent() || predicate.test(this.get())) {
+            result = this;
+        } else {
+            this.stats.reject();
+            result = new TracedNullable<>(null, this.stats);
+        }
+        return result;
+    }
+
+    @Override
+    public <Y> Nullable<Y> map(final Function<? super X, ? extends Y> mapper) {
+        final Nullable<Y> result;
+        if (this.isPresent()) {
+            result = new TracedNullable<>(
+                this.stats.mapper(() -> mapper.apply(this.get())),
+                this.stats
+            );
+        } else {
+            result = (Nullable<Y>) this;
+        }
+        return result;
+    }
+
+    @Override
+    public Nullable<X> mapOrGet(final Supplier<? extends X> supplier) {
+        final Nullable<X> result;
+        if (this.isPresent()) {
+            result = this;
+        } else {
+            result = new TracedNullable<>(
+                this.stats.fallback(supplier),
+                this.stats
+            );
+        }
+        return result;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link ConcurrentLongNullableMap}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class ConcurrentLongNullableMapTest {
+
+    @Test
+    public void testForConcurrentPuts() throws InterruptedException {
+        final ConcurrentLongNullableMap<Long> map =
+            new ConcurrentLongNullableMap<>(8);
+        final List<Thread> threads = new ArrayList<>(4);
+        for (int thread = 0; thread < 4; ++thread) {
+            final long first = thread * 10_000L;
+            threads.add(
+                new Thread(
+                    () -> {
+                        for (long key = first; key < first + 10_000L; ++key) {
+                            map.put(key, key % 3L == 0L ? null : key);
+                            if (key % 5L == 0L) {
+                                map.remove(key);
+                            }
+                        }
+                    }
+                )
+            );
+        }
+        threads.forEach(Thread::start);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertEquals(
+            32_000,
+            map.size(),
+            "Testing size"
+        );
+        for (long key = 0L; key < 40_000L; ++key) {
+            Assertions.assertEquals(
+                key % 5L != 0L,
+                map.contains(key),
+                "Testing known key"
+            );
+            Assertions.assertEquals(
+                key % 5L != 0L && key % 3L != 0L ? key : -1L,
+                map.getOr(key, -1L).longValue(),
+                "Testing value of key"
+            );
+        }
+    }
+}
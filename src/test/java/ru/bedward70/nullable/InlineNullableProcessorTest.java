@@ -0,0 +1,208 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link InlineNullableProcessor}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class InlineNullableProcessorTest {
+
+    @Test
+    public void testForInlinedChains() {
+        for (final String input : InlineNullableProcessorTest.inputs()) {
+            Assertions.assertEquals(
+                InlineNullableSamples.upper(input),
+                InlineNullableSamplesInlined.upper(input),
+                String.format("Testing map, filter and getOr for '%s'", input)
+            );
+            Assertions.assertEquals(
+                InlineNullableSamples.length(input),
+                InlineNullableSamplesInlined.length(input),
+                String.format("Testing getOrGet for '%s'", input)
+            );
+            Assertions.assertEquals(
+                InlineNullableSamples.parsed(input),
+                InlineNullableSamplesInlined.parsed(input),
+                String.format("Testing map to null for '%s'", input)
+            );
+            Assertions.assertEquals(
+                InlineNullableSamples.orZero(input),
+                InlineNullableSamplesInlined.orZero(input),
+                String.format("Testing mapOrGet and get for '%s'", input)
+            );
+            Assertions.assertEquals(
+                InlineNullableSamples.present(input),
+                InlineNullableSamplesInlined.present(input),
+                String.format("Testing isPresent for '%s'", input)
+            );
+            final List<String> expected = new ArrayList<>(0);
+            InlineNullableSamples.collect(input, expected);
+            final List<String> actual = new ArrayList<>(0);
+            InlineNullableSamplesInlined.collect(input, actual);
+            Assertions.assertEquals(
+                expected,
+                actual,
+                String.format("Testing ifPresent and others for '%s'", input)
+            );
+        }
+    }
+
+    @Test
+    public void testForUnsupportedChain() throws URISyntaxException {
+        Assertions.assertEquals(
+            Collections.singletonList(
+                "@InlineNullable: Unsupported Nullable method: stream"
+            ),
+            InlineNullableProcessorTest.errors(
+                "return Nullable.of(input).stream().findFirst().get();"
+            ),
+            "Testing error of unsupported chain"
+        );
+    }
+
+    @Test
+    public void testForOtherSource() throws URISyntaxException {
+        Assertions.assertEquals(
+            Collections.singletonList(
+                String.join(
+                    " ",
+                    "@InlineNullable: Unsupported expression:",
+                    "new NullableBox<>(input)"
+                )
+            ),
+            InlineNullableProcessorTest.errors(
+                "return new NullableBox<>(input).get();"
+            ),
+            "Testing error of a source of another type"
+        );
+    }
+
+    /**
+     * Runs the processor over a sample method.
+     * @param statement The statement of the method.
+     * @return The error messages.
+     * @throws URISyntaxException If the library is not found.
+     */
+    private static List<String> errors(final String statement)
+        throws URISyntaxException {
+        final String source = String.join(
+            "\n",
+            "package sample;",
+            "import ru.bedward70.nullable.InlineNullable;",
+            "import ru.bedward70.nullable.Nullable;",
+            "public final class Sample {",
+            "    @InlineNullable",
+            "    static String sample(final String input) {",
+            statement,
+            "    }",
+            "    static final class NullableBox<X> {",
+            "        NullableBox(final X value) { }",
+            "        X get() { return null; }",
+            "    }",
+            "}"
+        );
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics =
+            new DiagnosticCollector<>();
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+            null,
+            null,
+            diagnostics,
+            Arrays.asList(
+                "-proc:only",
+                "-classpath",
+                new File(
+                    InlineNullable.class.getProtectionDomain()
+                        .getCodeSource().getLocation().toURI()
+                ).getPath()
+            ),
+            null,
+            Collections.singletonList(
+                new SimpleJavaFileObject(
+                    URI.create("string:///sample/Sample.java"),
+                    JavaFileObject.Kind.SOURCE
+                ) {
+                    @Override
+                    public CharSequence getCharContent(final boolean errors) {
+                        return source;
+                    }
+                }
+            )
+        );
+        task.setProcessors(
+            Collections.singletonList(new InlineNullableProcessor())
+        );
+        Assertions.assertFalse(
+            task.call(),
+            "Testing compilation fails"
+        );
+        return diagnostics.getDiagnostics().stream()
+            .filter(diag -> diag.getKind() == Diagnostic.Kind.ERROR)
+            .map(diag -> diag.getMessage(Locale.ENGLISH))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Generates inputs with nulls, blanks, words and numbers.
+     * @return The inputs.
+     */
+    private static List<String> inputs() {
+        final List<String> result = new ArrayList<>(
+            Arrays.asList(null, "", " ", "  a ", "ab", "abc", "14", "-21", "0")
+        );
+        final Random random = new Random(42L);
+        final String chars = " 0123456789-abcXYZ";
+        for (int idx = 0; idx < 1_000; ++idx) {
+            final StringBuilder input = new StringBuilder(8);
+            final int length = random.nextInt(8);
+            for (int pos = 0; pos < length; ++pos) {
+                input.append(chars.charAt(random.nextInt(chars.length())));
+            }
+            result.add(input.toString());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.List;
+
+/**
+ * Nullable chains inlined by {@link InlineNullableProcessor} into
+ * {@code InlineNullableSamplesInlined}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+final class InlineNullableSamples {
+
+    /**
+     * Utility class.
+     */
+    private InlineNullableSamples() {
+    }
+
+    @InlineNullable
+    static String upper(final String input) {
+        return Nullable.of(input)
+            .map(String::trim)
+            .filter((String value) -> !value.isEmpty())
+            .map(String::toUpperCase)
+            .getOr("EMPTY");
+    }
+
+    @InlineNullable
+    static int length(final String input) {
+        return new Nullable<>(input)
+            .map(String::length)
+            .filter(len -> len > 2)
+            .getOrGet(() -> -1);
+    }
+
+    @InlineNullable
+    static Nullable<Integer> parsed(final String input) {
+        return Nullable.of(input)
+            .filter((String value) -> value.matches("-?\\d{1,9}"))
+            .map(Integer::parseInt)
+            .map(value -> value % 7 == 0 ? null : value * 2);
+    }
+
+    @InlineNullable
+    static Long orZero(final String input) {
+        return Nullable.of(input)
+            .map((String value) -> value.length() * 3L)
+            .mapOrGet(() -> 0L)
+            .get();
+    }
+
+    @InlineNullable
+    static boolean present(final String input) {
+        return Nullable.of(input)
+            .map((String value) -> value.isEmpty() ? null : value)
+            .isPresent();
+    }
+
+    @InlineNullable
+    static void collect(final String input, final List<String> out) {
+        Nullable.of(input)
+            .map(String::trim)
+            .ifPresent(
+                (String value) -> {
+                    out.add(value);
+                    out.add(value.toLowerCase());
+                }
+            )
+            .filter(String::isEmpty)
+            .ifPresent(out::add)
+            .ifNotPresent(() -> out.add("absent"));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link LongNullableMap}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class LongNullableMapTest {
+
+    @Test
+    public void testForStates() {
+        final LongNullableMap<String> map = new LongNullableMap<>();
+        map.put(1L, "present");
+        map.put(2L, new Nullable<>(null));
+        Assertions.assertEquals(
+            "present",
+            map.getOr(1L, "other"),
+            "Testing present key"
+        );
+        Assertions.assertEquals(
+            "other",
+            map.getOr(2L, "other"),
+            "Testing known-absent key"
+        );
+        Assertions.assertTrue(
+            map.contains(2L) && !map.isPresent(2L),
+            "Testing contains for known-absent key"
+        );
+        Assertions.assertFalse(
+            map.contains(3L),
+            "Testing contains for missing key"
+        );
+        final NullableCursor<String> view = new NullableCursor<>();
+        Assertions.assertSame(
+            view,
+            map.get(1L, view),
+            "Testing shared view"
+        );
+        Assertions.assertEquals(
+            "present",
+            view.get(),
+            "Testing view of present key"
+        );
+        Assertions.assertFalse(
+            map.get(3L, view).isPresent(),
+            "Testing view of missing key"
+        );
+    }
+
+    @Test
+    public void testForIllegalSize() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new LongNullableMap<String>(900_000_000),
+            "Testing expected size over the maximum capacity"
+        );
+    }
+
+    @Test
+    public void testForRandomOperations() {
+        final LongNullableMap<Long> map = new LongNullableMap<>(0);
+        final Map<Long, Nullable<Long>> expected = new HashMap<>();
+        final Random random = new Random(42L);
+        for (int idx = 0; idx < 100_000; ++idx) {
+            final long key = random.nextInt(5_000) - 2_500L;
+            final int operation = random.nextInt(3);
+            if (operation == 0) {
+                Assertions.assertEquals(
+                    expected.remove(key) != null,
+                    map.remove(key),
+                    "Testing remove"
+                );
+            } else {
+                final Nullable<Long> value = Nullable.of(
+                    operation == 1 ? key * 2 : null
+                );
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+        Assertions.assertEquals(
+            expected.size(),
+            map.size(),
+            "Testing size"
+        );
+        for (long key = -2_500L; key < 2_500L; ++key) {
+            Assertions.assertEquals(
+                expected.containsKey(key),
+                map.contains(key),
+                "Testing known key"
+            );
+            Assertions.assertEquals(
+                expected.getOrDefault(key, Nullable.empty()).get(),
+                map.getOr(key, null),
+                "Testing value of key"
+            );
+        }
+    }
+}
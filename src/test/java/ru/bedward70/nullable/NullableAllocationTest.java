@@ -0,0 +1,277 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allocation budget test cases for {@link Nullable}.
+ * Each operation is warmed up and then measured with
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ * @checkstyle MagicNumberCheck (500 lines)
+ */
+public final class NullableAllocationTest {
+
+    /**
+     * Iterations of warm up and measurement.
+     */
+    private static final int ITERATIONS = 200_000;
+
+    /**
+     * Budget of one container, in bytes.
+     */
+    private static final double CONTAINER = 32;
+
+    /**
+     * Budget of no allocation, in bytes, to tolerate the measurement.
+     */
+    private static final double NOTHING = 0.01;
+
+    /**
+     * Present container.
+     */
+    private static final Nullable<String> PRESENT = new Nullable<>("value");
+
+    /**
+     * Absent container.
+     */
+    private static final Nullable<String> ABSENT = new Nullable<>(null);
+
+    /**
+     * Non-capturing mapper.
+     */
+    private static final Function<String, String> MAPPER = String::trim;
+
+    /**
+     * Non-capturing rejecting predicate.
+     */
+    private static final Predicate<String> REJECT = String::isEmpty;
+
+    /**
+     * Non-capturing supplier.
+     */
+    private static final Supplier<String> SUPPLIER = () -> "other";
+
+    /**
+     * Non-capturing consumer.
+     */
+    private static final Consumer<String> CONSUMER = String::length;
+
+    /**
+     * Sink against dead code elimination.
+     */
+    private static volatile Object sink;
+
+    @BeforeAll
+    public static void checkSupport() {
+        Assumptions.assumeTrue(
+            ManagementFactory.getThreadMXBean()
+                instanceof com.sun.management.ThreadMXBean,
+            "Allocation counters are not supported"
+        );
+        final com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        Assumptions.assumeTrue(
+            bean.isThreadAllocatedMemorySupported(),
+            "Allocation counters are not supported"
+        );
+        bean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    public void testForGetOr() {
+        NullableAllocationTest.assertBudget(
+            "getOr",
+            NullableAllocationTest.NOTHING,
+            () -> {
+                NullableAllocationTest.sink =
+                    NullableAllocationTest.PRESENT.getOr("other");
+                NullableAllocationTest.sink =
+                    NullableAllocationTest.ABSENT.getOr("other");
+            }
+        );
+    }
+
+    @Test
+    public void testForGetOrGet() {
+        NullableAllocationTest.assertBudget(
+            "getOrGet",
+            NullableAllocationTest.NOTHING,
+            () -> {
+                NullableAllocationTest.sink = NullableAllocationTest.PRESENT
+                    .getOrGet(NullableAllocationTest.SUPPLIER);
+                NullableAllocationTest.sink = NullableAllocationTest.ABSENT
+                    .getOrGet(NullableAllocationTest.SUPPLIER);
+            }
+        );
+    }
+
+    @Test
+    public void testForIsPresent() {
+        NullableAllocationTest.assertBudget(
+            "isPresent",
+            NullableAllocationTest.NOTHING,
+            () -> {
+                NullableAllocationTest.sink =
+                    NullableAllocationTest.PRESENT.isPresent()
+                        && !NullableAllocationTest.ABSENT.isPresent();
+            }
+        );
+    }
+
+    @Test
+    public void testForIfPresent() {
+        NullableAllocationTest.assertBudget(
+            "ifPresent",
+            NullableAllocationTest.NOTHING,
+            () -> {
+                NullableAllocationTest.sink = NullableAllocationTest.PRESENT
+                    .ifPresent(NullableAllocationTest.CONSUMER);
+                NullableAllocationTest.sink = NullableAllocationTest.ABSENT
+                    .ifPresent(NullableAllocationTest.CONSUMER);
+            }
+        );
+    }
+
+    @Test
+    public void testForAbsent() {
+        NullableAllocationTest.assertBudget(
+            "absent paths",
+            NullableAllocationTest.NOTHING,
+            () -> {
+                NullableAllocationTest.sink = NullableAllocationTest.ABSENT
+                    .map(NullableAllocationTest.MAPPER);
+                NullableAllocationTest.sink = NullableAllocationTest.ABSENT
+                    .filter(NullableAllocationTest.REJECT);
+                NullableAllocationTest.sink = NullableAllocationTest.PRESENT
+                    .filter(NullableAllocationTest.REJECT);
+                NullableAllocationTest.sink = NullableAllocationTest.PRESENT
+                    .mapOrGet(NullableAllocationTest.SUPPLIER);
+            }
+        );
+    }
+
+    @Test
+    public void testForPresentMap() {
+        NullableAllocationTest.assertBudget(
+            "present map",
+            NullableAllocationTest.CONTAINER,
+            () -> {
+                NullableAllocationTest.sink = NullableAllocationTest.PRESENT
+                    .map(NullableAllocationTest.MAPPER);
+            }
+        );
+    }
+
+    @Test
+    public void testForRendering() {
+        final StringBuilder builder = new StringBuilder(64);
+        final double format = NullableAllocationTest.allocated(
+            () -> {
+                NullableAllocationTest.sink = String.format(
+                    "Nullable[%s]", NullableAllocationTest.PRESENT.get()
+                );
+            }
+        );
+        NullableAllocationTest.assertBudget(
+            "toString against String.format",
+            format / 2,
+            () -> {
+                NullableAllocationTest.sink =
+                    NullableAllocationTest.PRESENT.toString();
+            }
+        );
+        NullableAllocationTest.assertBudget(
+            "appendTo",
+            NullableAllocationTest.NOTHING,
+            () -> {
+                builder.setLength(0);
+                NullableAllocationTest.PRESENT.appendTo(builder);
+                NullableAllocationTest.ABSENT.appendTo(builder);
+            }
+        );
+        NullableAllocationTest.assertBudget(
+            "unrendered log argument",
+            NullableAllocationTest.CONTAINER,
+            () -> {
+                NullableAllocationTest.sink = NullableLogArgument.of(
+                    () -> NullableAllocationTest.PRESENT
+                );
+            }
+        );
+    }
+
+    /**
+     * Checks bytes allocated per run of the operation.
+     * @param name The name of the operation.
+     * @param budget The budget in bytes.
+     * @param operation The operation.
+     */
+    private static void assertBudget(final String name, final double budget,
+        final Runnable operation) {
+        final double actual = NullableAllocationTest.allocated(operation);
+        Assertions.assertTrue(
+            actual <= budget,
+            String.format(
+                "Testing %s allocates %.2f bytes, budget %.2f",
+                name,
+                actual,
+                budget
+            )
+        );
+    }
+
+    /**
+     * Measures bytes allocated per run of the operation after a warm up.
+     * @param operation The operation.
+     * @return The bytes per run.
+     */
+    private static double allocated(final Runnable operation) {
+        final com.sun.management.ThreadMXBean bean =
+            (com.sun.management.ThreadMXBean) ManagementFactory
+                .getThreadMXBean();
+        final long thread = Thread.currentThread().getId();
+        for (int idx = 0; idx < NullableAllocationTest.ITERATIONS; ++idx) {
+            operation.run();
+        }
+        final long before = bean.getThreadAllocatedBytes(thread);
+        for (int idx = 0; idx < NullableAllocationTest.ITERATIONS; ++idx) {
+            operation.run();
+        }
+        return (double) (bean.getThreadAllocatedBytes(thread) - before)
+            / NullableAllocationTest.ITERATIONS;
+    }
+}
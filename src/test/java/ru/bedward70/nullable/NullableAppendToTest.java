@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * AppendTo test cases for {@link Nullable}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle StringLiteralsConcatenationCheck (500 lines)
+ */
+public final class NullableAppendToTest {
+
+    @ParameterizedTest
+    @MethodSource("dataProvider")
+    public void test(final NullableToStringTestData kit) {
+        final StringBuilder builder = new StringBuilder("prefix ");
+        Assertions.assertSame(
+            builder,
+            new Nullable(kit.getValue()).appendTo(builder),
+            "Testing builder is returned : " + kit
+        );
+        Assertions.assertEquals(
+            "prefix " + kit.getExpected(),
+            builder.toString(),
+            "Testing : " + kit
+        );
+    }
+
+    @Test
+    public void testForRenderer() {
+        Assertions.assertEquals(
+            "Nullable[0x1f]",
+            new Nullable<>(31).appendTo(
+                new StringBuilder(),
+                (builder, value) -> builder.append("0x")
+                    .append(Integer.toHexString(value))
+            ).toString(),
+            "Testing custom renderer"
+        );
+    }
+
+    @Test
+    public void testForNullRenderer() {
+        Assertions.assertEquals(
+            "Nullable.null",
+            new Nullable<Integer>(null).appendTo(
+                new StringBuilder(),
+                (builder, value) -> Assertions.fail("Renderer is used")
+            ).toString(),
+            "Testing renderer is not used for null case"
+        );
+    }
+
+    static Stream<NullableToStringTestData> dataProvider() {
+        return NullableToStringTest.dataProvider();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableBitmap}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableBitmapTest {
+
+    @Test
+    public void testForEmpty() {
+        final NullableBitmap bitmap = NullableBitmap.of();
+        Assertions.assertEquals(
+            0L,
+            bitmap.cardinality(),
+            "Testing cardinality of empty bitmap"
+        );
+        Assertions.assertEquals(
+            0L,
+            bitmap.rank(100),
+            "Testing rank of empty bitmap"
+        );
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> bitmap.select(0L),
+            "Testing select of empty bitmap"
+        );
+    }
+
+    @Test
+    public void testForDensities() {
+        final Random random = new Random(42L);
+        for (final int density : new int[] {1, 500, 999}) {
+            final BitSet expected = new BitSet();
+            for (int pos = 0; pos < 300_000; ++pos) {
+                if (random.nextInt(1_000) < density) {
+                    expected.set(pos);
+                }
+            }
+            expected.set(200_000, 210_000);
+            NullableBitmapTest.assertSame(
+                expected,
+                NullableBitmap.of(expected.stream().toArray())
+            );
+        }
+    }
+
+    @Test
+    public void testForOrAnd() {
+        final Random random = new Random(7L);
+        final BitSet left = new BitSet();
+        final BitSet right = new BitSet();
+        for (int pos = 0; pos < 200_000; ++pos) {
+            if (random.nextInt(100) == 0) {
+                left.set(pos);
+            }
+            if (pos > 100_000 && random.nextInt(100) < 98) {
+                right.set(pos);
+            }
+        }
+        final NullableBitmap lbitmap = NullableBitmap.of(left.stream().toArray());
+        final NullableBitmap rbitmap = NullableBitmap.of(right.stream().toArray());
+        final BitSet union = (BitSet) left.clone();
+        union.or(right);
+        NullableBitmapTest.assertSame(union, lbitmap.or(rbitmap));
+        final BitSet intersection = (BitSet) left.clone();
+        intersection.and(right);
+        NullableBitmapTest.assertSame(intersection, lbitmap.and(rbitmap));
+    }
+
+    @Test
+    public void testForColumn() {
+        final Random random = new Random(3L);
+        final NullableLongColumn column = new NullableLongColumn();
+        for (int row = 0; row < 70_000; ++row) {
+            if (random.nextInt(1_000) == 0) {
+                column.append(row);
+            } else {
+                column.appendAbsent();
+            }
+        }
+        Assertions.assertArrayEquals(
+            IntStream.range(0, column.size()).filter(column::isPresent)
+                .toArray(),
+            NullableBitmapTest.positions(column.presence()),
+            "Testing presence of column"
+        );
+    }
+
+    @Test
+    public void testForEveryRank() {
+        final Random random = new Random(5L);
+        final BitSet blocks = new BitSet();
+        final BitSet runs = new BitSet();
+        for (int pos = 0; pos < 65_536; ++pos) {
+            if ((pos >>> 10 & 1) == 0 && random.nextBoolean()) {
+                blocks.set(pos);
+            }
+            if (pos % 40 < 30) {
+                runs.set(pos);
+            }
+        }
+        for (final BitSet expected : new BitSet[] {blocks, runs}) {
+            final NullableBitmap bitmap =
+                NullableBitmap.of(expected.stream().toArray());
+            int rank = 0;
+            for (int pos = 0; pos < 65_536; ++pos) {
+                if (expected.get(pos)) {
+                    Assertions.assertEquals(
+                        pos,
+                        bitmap.select(rank),
+                        "Testing select of every rank"
+                    );
+                    ++rank;
+                }
+                Assertions.assertEquals(
+                    rank,
+                    bitmap.rank(pos),
+                    "Testing rank of every position"
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testForSnapshot() {
+        final NullableLongColumn column = new NullableLongColumn();
+        column.append(1L);
+        column.appendAbsent();
+        final NullableBitmap bitmap = column.presence();
+        column.append(2L);
+        Assertions.assertEquals(
+            1L,
+            bitmap.cardinality(),
+            "Testing snapshot is not changed by appends"
+        );
+        Assertions.assertEquals(
+            2L,
+            column.presence().cardinality(),
+            "Testing new snapshot sees appends"
+        );
+    }
+
+    private static void assertSame(final BitSet expected,
+        final NullableBitmap bitmap) {
+        Assertions.assertEquals(
+            expected.cardinality(),
+            bitmap.cardinality(),
+            "Testing cardinality"
+        );
+        Assertions.assertArrayEquals(
+            expected.stream().toArray(),
+            NullableBitmapTest.positions(bitmap),
+            "Testing forEach"
+        );
+        final Random random = new Random(11L);
+        for (int probe = 0; probe < 2_000; ++probe) {
+            final int pos = random.nextInt(expected.length() + 100_000);
+            Assertions.assertEquals(
+                expected.get(pos),
+                bitmap.contains(pos),
+                "Testing contains"
+            );
+            Assertions.assertEquals(
+                expected.get(0, pos + 1).cardinality(),
+                bitmap.rank(pos),
+                "Testing rank"
+            );
+        }
+        for (int probe = 0; probe < 200 && !expected.isEmpty(); ++probe) {
+            final int rank = random.nextInt(expected.cardinality());
+            Assertions.assertEquals(
+                expected.stream().skip(rank).findFirst().getAsInt(),
+                bitmap.select(rank),
+                "Testing select"
+            );
+        }
+    }
+
+    private static int[] positions(final NullableBitmap bitmap) {
+        final IntStream.Builder builder = IntStream.builder();
+        bitmap.forEach(builder::add);
+        return builder.build().toArray();
+    }
+}
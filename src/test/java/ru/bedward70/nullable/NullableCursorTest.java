@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableCursor}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableCursorTest {
+
+    @Test
+    public void testForRows() {
+        final String[] rows = {"first", null, "third", null};
+        final NullableCursor<String> cursor = new NullableCursor<>();
+        final AtomicInteger countPresent = new AtomicInteger();
+        final AtomicInteger countNotPresent = new AtomicInteger();
+        for (final String row : rows) {
+            cursor.point(row)
+                .ifPresent(value -> countPresent.incrementAndGet())
+                .ifNotPresent(countNotPresent::incrementAndGet);
+            Assertions.assertEquals(
+                new Nullable<>(row).getOr("other"),
+                cursor.getOr("other"),
+                "Testing getOr against Nullable"
+            );
+            Assertions.assertEquals(
+                new Nullable<>(row).filter(value -> value.startsWith("t"))
+                    .isPresent(),
+                cursor.test(value -> value.startsWith("t")),
+                "Testing test against Nullable filter"
+            );
+        }
+        Assertions.assertEquals(
+            2,
+            countPresent.get(),
+            "Testing count for non-null rows"
+        );
+        Assertions.assertEquals(
+            2,
+            countNotPresent.get(),
+            "Testing count for null rows"
+        );
+    }
+
+    @Test
+    public void testForSnapshot() {
+        final NullableCursor<String> cursor =
+            new NullableCursor<>("value for snapshot");
+        final Nullable<String> snapshot = cursor.snapshot();
+        cursor.point(null);
+        Assertions.assertEquals(
+            new Nullable<>("value for snapshot"),
+            snapshot,
+            "Testing snapshot keeps the value"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            cursor.snapshot(),
+            "Testing snapshot for null case"
+        );
+    }
+
+    @Test
+    public void testForGetOrGet() {
+        final NullableCursor<String> cursor = new NullableCursor<>();
+        Assertions.assertEquals(
+            "other",
+            cursor.getOrGet(() -> "other"),
+            "Testing getOrGet for null case"
+        );
+        Assertions.assertEquals(
+            "value",
+            cursor.point("value").getOrGet(() -> "other"),
+            "Testing getOrGet for non-null case"
+        );
+    }
+}
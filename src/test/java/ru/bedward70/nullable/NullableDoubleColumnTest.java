@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableDoubleColumn}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableDoubleColumnTest {
+
+    @Test
+    public void testForValues() {
+        final NullableDoubleColumn column = new NullableDoubleColumn(0);
+        for (int row = 0; row < 200; ++row) {
+            if (row % 3 == 0) {
+                column.appendAbsent();
+            } else {
+                column.append(row / 2.0);
+            }
+        }
+        column.append(new Nullable<>(-0.5)).append(new Nullable<>(null));
+        Assertions.assertEquals(
+            202,
+            column.size(),
+            "Testing size"
+        );
+        Assertions.assertEquals(
+            new Nullable<>(65.5),
+            column.get(131),
+            "Testing present row"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            column.get(129),
+            "Testing absent row"
+        );
+        Assertions.assertEquals(
+            -0.5,
+            column.getOr(200, 0.0),
+            "Testing appended container"
+        );
+        Assertions.assertEquals(
+            -1.0,
+            column.getOr(201, -1.0),
+            "Testing getOr for absent row"
+        );
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> column.get(202),
+            "Testing row out of bounds"
+        );
+    }
+
+    @Test
+    public void testForSortedIndex() {
+        final double[] specials = {
+            Double.NaN, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY,
+            -0.0, 0.0, Double.MIN_VALUE, -Double.MAX_VALUE,
+        };
+        final Random random = new Random(42L);
+        final NullableDoubleColumn column = new NullableDoubleColumn();
+        final List<Integer> present = new ArrayList<>(5_000);
+        final List<Integer> absent = new ArrayList<>(5_000);
+        for (int row = 0; row < 5_000; ++row) {
+            final int kind = random.nextInt(10);
+            if (kind == 0) {
+                column.appendAbsent();
+                absent.add(row);
+            } else {
+                if (kind == 1) {
+                    column.append(specials[random.nextInt(specials.length)]);
+                } else {
+                    column.append((random.nextInt(2_000) - 1_000) / 8.0);
+                }
+                present.add(row);
+            }
+        }
+        present.sort(
+            (left, right) -> Double.compare(
+                column.getOr(left, 0.0), column.getOr(right, 0.0)
+            )
+        );
+        final List<Integer> expected = new ArrayList<>(absent);
+        expected.addAll(present);
+        final List<Integer> actual = new ArrayList<>(column.size());
+        for (final int row : column.sortedIndex(true)) {
+            actual.add(row);
+        }
+        Assertions.assertEquals(
+            expected,
+            actual,
+            "Testing stable order with absent rows first"
+        );
+    }
+}
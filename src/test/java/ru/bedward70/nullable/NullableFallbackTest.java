@@ -0,0 +1,221 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableFallback}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableFallbackTest {
+
+    @Test
+    public void testForValue() {
+        final NullableFallback<String> fallback = new NullableFallback<>(
+            () -> "fallback", "other", 1L, TimeUnit.SECONDS, Runnable::run
+        );
+        Assertions.assertEquals(
+            new Nullable<>("fallback"),
+            new Nullable<String>(null).mapOrGet(fallback),
+            "Testing fallback value"
+        );
+    }
+
+    @Test
+    public void testForTimeout() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch latch = new CountDownLatch(1);
+        try {
+            final NullableFallback<String> fallback = new NullableFallback<>(
+                () -> {
+                    try {
+                        latch.await();
+                    } catch (final InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return "late";
+                },
+                null,
+                10L,
+                TimeUnit.MILLISECONDS,
+                executor
+            );
+            Assertions.assertFalse(
+                new Nullable<String>(null).mapOrGet(fallback).isPresent(),
+                "Testing absent result after timeout"
+            );
+            Assertions.assertEquals(
+                1,
+                fallback.timeouts(),
+                "Testing count of timeouts"
+            );
+        } finally {
+            latch.countDown();
+            executor.shutdown();
+            executor.awaitTermination(1L, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testForInterruptedSupplier() throws InterruptedException {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        final AtomicInteger countUseSupplier = new AtomicInteger();
+        try {
+            final NullableFallback<String> fallback = new NullableFallback<>(
+                () -> {
+                    String value = "fast";
+                    if (countUseSupplier.incrementAndGet() == 1) {
+                        try {
+                            new CountDownLatch(1).await();
+                        } catch (final InterruptedException ex) {
+                            interrupted.countDown();
+                        }
+                        value = "late";
+                    }
+                    return value;
+                },
+                null,
+                100L,
+                TimeUnit.MILLISECONDS,
+                executor
+            );
+            Assertions.assertNull(
+                fallback.get(),
+                "Testing default value after timeout"
+            );
+            Assertions.assertTrue(
+                interrupted.await(1L, TimeUnit.SECONDS),
+                "Testing late supplier is interrupted"
+            );
+            Assertions.assertEquals(
+                "fast",
+                fallback.get(),
+                "Testing executor thread is free again"
+            );
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(1L, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testForRejectedCall() {
+        final AtomicLong clock = new AtomicLong();
+        final NullableFallback<String> fallback = new NullableFallback<>(
+            () -> "value", "other", Long.MAX_VALUE,
+            task -> {
+                throw new RejectedExecutionException("Saturated executor");
+            },
+            2, 100L, clock::get
+        );
+        Assertions.assertEquals(
+            "other",
+            new Nullable<String>(null).getOrGet(fallback),
+            "Testing default value of rejected call"
+        );
+        fallback.get();
+        Assertions.assertEquals(
+            2L,
+            fallback.failures(),
+            "Testing count of rejected calls"
+        );
+        Assertions.assertTrue(
+            fallback.isOpen(),
+            "Testing breaker opens on rejected calls"
+        );
+    }
+
+    @Test
+    public void testForBreaker() {
+        final AtomicLong clock = new AtomicLong();
+        final AtomicInteger countUseSupplier = new AtomicInteger();
+        final AtomicInteger failing = new AtomicInteger(1);
+        final Supplier<String> supplier = () -> {
+            countUseSupplier.incrementAndGet();
+            if (failing.get() > 0) {
+                throw new IllegalStateException("Failing fallback");
+            }
+            return "recovered";
+        };
+        final NullableFallback<String> fallback = new NullableFallback<>(
+            supplier, "other", Long.MAX_VALUE, Runnable::run, 2, 100L, clock::get
+        );
+        Assertions.assertEquals(
+            "other",
+            fallback.get(),
+            "Testing default value after failure"
+        );
+        Assertions.assertFalse(
+            fallback.isOpen(),
+            "Testing breaker is closed below threshold"
+        );
+        fallback.get();
+        Assertions.assertTrue(
+            fallback.isOpen(),
+            "Testing breaker opens at threshold"
+        );
+        fallback.get();
+        clock.set(99L);
+        fallback.get();
+        Assertions.assertEquals(
+            2,
+            countUseSupplier.get(),
+            "Testing open breaker skips the supplier"
+        );
+        Assertions.assertEquals(
+            2,
+            fallback.shortCircuits(),
+            "Testing count of short circuits"
+        );
+        failing.set(0);
+        clock.set(100L);
+        Assertions.assertEquals(
+            "recovered",
+            fallback.get(),
+            "Testing trial call after cooldown"
+        );
+        Assertions.assertFalse(
+            fallback.isOpen(),
+            "Testing breaker closes after successful trial"
+        );
+        Assertions.assertEquals(
+            2,
+            fallback.failures(),
+            "Testing count of failures"
+        );
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableFilters}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableFiltersTest {
+
+    @Test
+    public void testForSequentialFilters() {
+        final Predicate<Integer> even = value -> value % 2 == 0;
+        final Predicate<Integer> small = value -> value < 500;
+        final Predicate<Integer> odd = value -> value % 3 != 0;
+        final NullableFilters<Integer> filters = new NullableFilters<>(
+            Arrays.asList(even, small, odd), 1, 10
+        );
+        final Random random = new Random(42L);
+        for (int idx = 0; idx < 10_000; ++idx) {
+            final Nullable<Integer> n = Nullable.of(
+                random.nextInt(10) == 0 ? null : random.nextInt(1_000)
+            );
+            Assertions.assertEquals(
+                n.filter(even).filter(small).filter(odd),
+                n.filter(filters),
+                "Testing result against sequential filters"
+            );
+        }
+    }
+
+    @Test
+    public void testForReordering() {
+        final AtomicInteger countUseSlow = new AtomicInteger();
+        final Predicate<String> slow = value -> {
+            countUseSlow.incrementAndGet();
+            final long start = System.nanoTime();
+            while (System.nanoTime() - start < 20_000L) {
+                Thread.yield();
+            }
+            return true;
+        };
+        final Predicate<String> reject = String::isEmpty;
+        final List<Predicate<? super String>> predicates = Arrays.asList(
+            slow, reject
+        );
+        final NullableFilters<String> filters = new NullableFilters<>(
+            predicates, 4, 10
+        );
+        for (int idx = 0; idx < 4_000; ++idx) {
+            new Nullable<>("value").filter(filters);
+        }
+        Assertions.assertArrayEquals(
+            new int[] {1, 0},
+            filters.order(),
+            "Testing rejecting predicate moves first"
+        );
+        Assertions.assertTrue(
+            countUseSlow.get() < 2_000,
+            "Testing slow predicate is skipped after reordering"
+        );
+    }
+
+    @Test
+    public void testForSelectivityChange() {
+        final AtomicBoolean flipped = new AtomicBoolean();
+        final Predicate<String> first = value -> flipped.get();
+        final Predicate<String> second = value -> !flipped.get();
+        final NullableFilters<String> filters = new NullableFilters<>(
+            Arrays.asList(first, second), 1, 10
+        );
+        for (int idx = 0; idx < 10_000; ++idx) {
+            new Nullable<>("value").filter(filters);
+        }
+        Assertions.assertArrayEquals(
+            new int[] {0, 1},
+            filters.order(),
+            "Testing rejecting predicate runs first"
+        );
+        flipped.set(true);
+        for (int idx = 0; idx < 400; ++idx) {
+            new Nullable<>("value").filter(filters);
+        }
+        Assertions.assertArrayEquals(
+            new int[] {1, 0},
+            filters.order(),
+            "Testing order follows a change in selectivity"
+        );
+    }
+
+    @Test
+    public void testForReorderingBehindRejecting() {
+        final Predicate<String> slow = value -> {
+            final long start = System.nanoTime();
+            while (System.nanoTime() - start < 20_000L) {
+                Thread.yield();
+            }
+            return false;
+        };
+        final Predicate<String> reject = String::isEmpty;
+        final NullableFilters<String> filters = new NullableFilters<>(
+            Arrays.asList(slow, reject), 1, 100
+        );
+        for (int idx = 0; idx < 100; ++idx) {
+            new Nullable<>("value").filter(filters);
+        }
+        Assertions.assertArrayEquals(
+            new int[] {1, 0},
+            filters.order(),
+            "Testing cheap predicate behind a rejecting one moves first"
+        );
+    }
+}
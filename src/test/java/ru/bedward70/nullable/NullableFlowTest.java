@@ -0,0 +1,369 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableFlow}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableFlowTest {
+
+    @Test
+    public void testForPresentOnly() {
+        final Collector<Long> sub = new Collector<>(Long.MAX_VALUE);
+        NullableFlow.from(new Source(10)).presentOnly().subscribe(sub);
+        Assertions.assertEquals(
+            List.of(0L, 3L, 6L, 9L), sub.items, "Testing present values"
+        );
+        Assertions.assertTrue(sub.complete, "Testing completion");
+    }
+
+    @Test
+    public void testForFusedChain() {
+        final LongAdder counter = new LongAdder();
+        final Collector<Nullable<String>> sub =
+            new Collector<>(Long.MAX_VALUE);
+        NullableFlow.from(new Source(5))
+            .mapPresent(value -> value * 2L)
+            .countAbsent(counter)
+            .mapPresent(String::valueOf)
+            .fillAbsent(() -> "none")
+            .subscribe(sub);
+        Assertions.assertEquals(
+            List.of(
+                new Nullable<>("0"), new Nullable<>("none"),
+                new Nullable<>("none"), new Nullable<>("6"),
+                new Nullable<>("none")
+            ),
+            sub.items,
+            "Testing fused stages"
+        );
+        Assertions.assertEquals(3L, counter.sum(), "Testing absent count");
+    }
+
+    @Test
+    public void testForBatchedDemand() {
+        final Source source = new Source(10_000);
+        final Collector<Long> sub = new Collector<>(Long.MAX_VALUE);
+        NullableFlow.from(source, 64).presentOnly().subscribe(sub);
+        Assertions.assertEquals(3334, sub.items.size(), "Testing all values");
+        Assertions.assertTrue(
+            source.requests.stream().allMatch(count -> count <= 64L),
+            "Testing requests within the batch"
+        );
+        Assertions.assertTrue(
+            source.requests.size() < 10_000 / 40,
+            "Testing requests in batches"
+        );
+    }
+
+    @Test
+    public void testForBoundedDemand() {
+        final Source source = new Source(1_000);
+        final Collector<Long> sub = new Collector<>(2L);
+        NullableFlow.from(source, 16).presentOnly().subscribe(sub);
+        Assertions.assertEquals(
+            List.of(0L, 3L), sub.items, "Testing values within the demand"
+        );
+        Assertions.assertTrue(
+            source.emitted <= 2 * 3, "Testing elements taken from the source"
+        );
+        sub.subscription.request(1L);
+        Assertions.assertEquals(
+            List.of(0L, 3L, 6L), sub.items, "Testing values on more demand"
+        );
+        Assertions.assertFalse(sub.complete, "Testing no completion");
+    }
+
+    @Test
+    public void testForIllegalRequest() {
+        final Source source = new Source(10);
+        final Collector<Long> sub = new Collector<>(0L);
+        NullableFlow.from(source).presentOnly().subscribe(sub);
+        sub.subscription.request(0L);
+        Assertions.assertTrue(
+            sub.error instanceof IllegalArgumentException,
+            "Testing error on illegal request"
+        );
+        Assertions.assertTrue(source.cancelled, "Testing cancelled source");
+    }
+
+    @Test
+    public void testForFailingStage() {
+        final Source source = new Source(10);
+        final Collector<Nullable<Long>> sub =
+            new Collector<>(Long.MAX_VALUE);
+        NullableFlow.from(source)
+            .mapPresent(
+                value -> {
+                    if (value > 3L) {
+                        throw new IllegalStateException("stage");
+                    }
+                    return value;
+                }
+            )
+            .subscribe(sub);
+        Assertions.assertEquals(6, sub.items.size(), "Testing values before");
+        Assertions.assertTrue(
+            sub.error instanceof IllegalStateException, "Testing stage error"
+        );
+        Assertions.assertFalse(sub.complete, "Testing no completion");
+        Assertions.assertTrue(source.cancelled, "Testing cancelled source");
+    }
+
+    @Test
+    public void testForAsynchronousSource() {
+        Assertions.assertTimeoutPreemptively(
+            Duration.ofSeconds(30L),
+            () -> {
+                final Collector<Long> sub = new Collector<>(1L);
+                sub.step = true;
+                try (SubmissionPublisher<Nullable<Long>> publisher =
+                    new SubmissionPublisher<>(ForkJoinPool.commonPool(), 8)) {
+                    NullableFlow.from(publisher, 4).presentOnly()
+                        .subscribe(sub);
+                    for (long value = 0L; value < 3_000L; ++value) {
+                        publisher.submit(
+                            value % 3L == 0L
+                                ? new Nullable<>(value) : Nullable.empty()
+                        );
+                    }
+                }
+                Assertions.assertTrue(
+                    sub.latch.await(20L, TimeUnit.SECONDS), "Testing completion"
+                );
+                Assertions.assertEquals(
+                    1_000, sub.items.size(), "Testing count"
+                );
+                for (int idx = 0; idx < sub.items.size(); ++idx) {
+                    Assertions.assertEquals(
+                        idx * 3L, sub.items.get(idx).longValue(),
+                        "Testing order"
+                    );
+                }
+                Assertions.assertFalse(sub.overflow.get(), "Testing demand");
+            }
+        );
+    }
+
+    /**
+     * A synchronous source of every third value present, which honors
+     * demand and records requests.
+     *
+     * @since 0.02
+     */
+    private static final class Source
+        implements Flow.Publisher<Nullable<Long>> {
+
+        /**
+         * The request counts.
+         */
+        private final List<Long> requests = new ArrayList<>(16);
+
+        /**
+         * The number of elements.
+         */
+        private final int size;
+
+        /**
+         * The number of elements emitted.
+         */
+        private int emitted;
+
+        /**
+         * Whether the subscription was cancelled.
+         */
+        private boolean cancelled;
+
+        /**
+         * Constructor.
+         *
+         * @param size The number of elements.
+         */
+        Source(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void subscribe(
+            final Flow.Subscriber<? super Nullable<Long>> sub
+        ) {
+            sub.onSubscribe(
+                new Flow.Subscription() {
+                    private long demand;
+
+                    private boolean emitting;
+
+                    @Override
+                    public void request(final long count) {
+                        Source.this.requests.add(count);
+                        this.demand += count;
+                        if (!this.emitting) {
+                            this.emitting = true;
+                            while (this.demand > 0L && !Source.this.cancelled
+                                && Source.this.emitted < Source.this.size) {
+                                --this.demand;
+                                final long value = Source.this.emitted;
+                                ++Source.this.emitted;
+                                sub.onNext(
+                                    value % 3L == 0L
+                                        ? new Nullable<>(value)
+                                        : Nullable.empty()
+                                );
+                            }
+                            if (Source.this.emitted == Source.this.size
+                                && !Source.this.cancelled) {
+                                Source.this.cancelled = true;
+                                sub.onComplete();
+                            }
+                            this.emitting = false;
+                        }
+                    }
+
+                    @Override
+                    public void cancel() {
+                        Source.this.cancelled = true;
+                    }
+                }
+            );
+        }
+    }
+
+    /**
+     * A subscriber collecting elements.
+     *
+     * @param <T> The type of elements.
+     * @since 0.02
+     */
+    private static final class Collector<T> implements Flow.Subscriber<T> {
+
+        /**
+         * The elements.
+         */
+        private final List<T> items =
+            Collections.synchronizedList(new ArrayList<>(16));
+
+        /**
+         * Whether more elements arrived than requested.
+         */
+        private final AtomicBoolean overflow = new AtomicBoolean();
+
+        /**
+         * The latch released on completion or error.
+         */
+        private final CountDownLatch latch = new CountDownLatch(1);
+
+        /**
+         * The initial demand.
+         */
+        private final long initial;
+
+        /**
+         * Whether to request one more element after each one.
+         */
+        private boolean step;
+
+        /**
+         * Demand not yet met.
+         */
+        private long demand;
+
+        /**
+         * The subscription.
+         */
+        private Flow.Subscription subscription;
+
+        /**
+         * Whether the flow completed.
+         */
+        private volatile boolean complete;
+
+        /**
+         * The error, if any.
+         */
+        private volatile Throwable error;
+
+        /**
+         * Constructor.
+         *
+         * @param initial The initial demand.
+         */
+        Collector(final long initial) {
+            this.initial = initial;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription sub) {
+            this.subscription = sub;
+            this.demand = this.initial;
+            if (this.initial > 0L) {
+                sub.request(this.initial);
+            }
+        }
+
+        @Override
+        public void onNext(final T item) {
+            if (this.demand != Long.MAX_VALUE) {
+                --this.demand;
+            }
+            if (this.demand < 0L) {
+                this.overflow.set(true);
+            }
+            this.items.add(item);
+            if (this.step) {
+                ++this.demand;
+                this.subscription.request(1L);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+            this.latch.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            this.complete = true;
+            this.latch.countDown();
+        }
+    }
+}
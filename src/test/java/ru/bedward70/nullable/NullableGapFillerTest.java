@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableGapFiller}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableGapFillerTest {
+
+    @Test
+    public void testForForward() {
+        NullableGapFillerTest.check(
+            NullableGapFiller.Fill.FORWARD, NullableLongWindows::fillForward
+        );
+    }
+
+    @Test
+    public void testForBackward() {
+        NullableGapFillerTest.check(
+            NullableGapFiller.Fill.BACKWARD, NullableLongWindows::fillBackward
+        );
+    }
+
+    @Test
+    public void testForLinear() {
+        NullableGapFillerTest.check(
+            NullableGapFiller.Fill.LINEAR, NullableLongWindows::interpolate
+        );
+    }
+
+    @Test
+    public void testForHeldBack() {
+        final List<Nullable<Long>> out = new ArrayList<>(4);
+        final NullableGapFiller filler = new NullableGapFiller(
+            NullableGapFiller.Fill.LINEAR, 2, out::add
+        );
+        filler.push(1L).pushAbsent().pushAbsent();
+        Assertions.assertEquals(1, out.size(), "Testing held back values");
+        filler.push(7L);
+        Assertions.assertEquals(
+            NullableGapFillerTest.list(1L, 3L, 5L, 7L), out,
+            "Testing released values"
+        );
+    }
+
+    @Test
+    public void testForIllegalGap() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new NullableGapFiller(
+                NullableGapFiller.Fill.FORWARD, -1, value -> { }
+            ),
+            "Testing illegal gap"
+        );
+    }
+
+    private static void check(final NullableGapFiller.Fill fill,
+        final BiFunction<NullableLongColumn, Integer, NullableLongColumn> col) {
+        final Random random = new Random(fill.ordinal());
+        for (int round = 0; round < 200; ++round) {
+            final NullableLongColumn series = new NullableLongColumn();
+            final int density = 1 + random.nextInt(4);
+            for (int idx = random.nextInt(60); idx > 0; --idx) {
+                if (random.nextInt(density + 1) == 0) {
+                    series.append(random.nextInt(1000) - 500);
+                } else {
+                    series.appendAbsent();
+                }
+            }
+            final int gap = random.nextInt(5);
+            final List<Nullable<Long>> out = new ArrayList<>(series.size());
+            final NullableGapFiller filler = new NullableGapFiller(
+                fill, gap, out::add
+            );
+            for (int row = 0; row < series.size(); ++row) {
+                filler.push(series.get(row));
+            }
+            filler.flush();
+            Assertions.assertEquals(
+                NullableGapFillerTest.list(col.apply(series, gap)), out,
+                String.format("Testing %s with gap %d", fill, gap)
+            );
+        }
+    }
+
+    private static List<Nullable<Long>> list(final Long... values) {
+        final List<Nullable<Long>> result = new ArrayList<>(values.length);
+        for (final Long value : values) {
+            result.add(new Nullable<>(value));
+        }
+        return result;
+    }
+
+    private static List<Nullable<Long>> list(final NullableLongColumn column) {
+        final List<Nullable<Long>> result = new ArrayList<>(column.size());
+        for (int row = 0; row < column.size(); ++row) {
+            result.add(column.get(row));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableLogArgument}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableLogArgumentTest {
+
+    @Test
+    public void testForLazySupplier() {
+        final AtomicInteger calls = new AtomicInteger();
+        final NullableLogArgument argument = NullableLogArgument.of(
+            () -> {
+                calls.incrementAndGet();
+                return new Nullable<>("value");
+            }
+        );
+        Assertions.assertEquals(
+            0,
+            calls.get(),
+            "Testing nothing made before rendering"
+        );
+        Assertions.assertEquals(
+            "Nullable[value]",
+            argument.toString(),
+            "Testing rendering"
+        );
+        Assertions.assertEquals(
+            1,
+            calls.get(),
+            "Testing container made on rendering"
+        );
+    }
+
+    @Test
+    public void testForRenderer() {
+        final AtomicInteger calls = new AtomicInteger();
+        final NullableLogArgument argument = NullableLogArgument.of(
+            new Nullable<>(255),
+            (builder, value) -> {
+                calls.incrementAndGet();
+                builder.append("0x").append(Integer.toHexString(value));
+            }
+        );
+        Assertions.assertEquals(
+            0,
+            calls.get(),
+            "Testing nothing rendered before asked"
+        );
+        Assertions.assertEquals(
+            "[Nullable[0xff]]",
+            argument.appendTo(new StringBuilder("[")).append(']').toString(),
+            "Testing appendTo with renderer"
+        );
+        Assertions.assertEquals(
+            "Nullable.null",
+            NullableLogArgument.of(
+                new Nullable<Integer>(null),
+                (builder, value) -> calls.incrementAndGet()
+            ).toString(),
+            "Testing absent value"
+        );
+        Assertions.assertEquals(
+            1,
+            calls.get(),
+            "Testing renderer skipped for absent value"
+        );
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableLongColumn}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableLongColumnTest {
+
+    @Test
+    public void testForValues() {
+        final NullableLongColumn column = new NullableLongColumn(0)
+            .append(1L)
+            .appendAbsent()
+            .append(new Nullable<>(3L))
+            .append(new Nullable<>(null));
+        Assertions.assertEquals(
+            4,
+            column.size(),
+            "Testing size"
+        );
+        Assertions.assertEquals(
+            new Nullable<>(3L),
+            column.get(2),
+            "Testing present row"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            column.get(3),
+            "Testing absent row"
+        );
+        Assertions.assertEquals(
+            -1L,
+            column.getOr(1, -1L),
+            "Testing getOr for absent row"
+        );
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> column.get(4),
+            "Testing row out of bounds"
+        );
+    }
+
+    @Test
+    public void testForSortedIndex() {
+        NullableLongColumnTest.checkSortedIndex(5_000);
+    }
+
+    @Test
+    public void testForParallelSortedIndex() {
+        NullableLongColumnTest.checkSortedIndex(200_000);
+    }
+
+    @Test
+    public void testForTopK() {
+        final List<Nullable<Long>> rows = NullableLongColumnTest.rows(5_000);
+        final NullableLongColumn column = new NullableLongColumn();
+        rows.forEach(column::append);
+        for (final int limit : new int[] {1, 10, 500, 10_000}) {
+            Assertions.assertArrayEquals(
+                IntStream.range(0, rows.size()).boxed()
+                    .filter(row -> rows.get(row).isPresent())
+                    .sorted(
+                        Comparator.<Integer, Long>comparing(
+                            row -> rows.get(row).get()
+                        ).reversed()
+                    )
+                    .limit(limit)
+                    .mapToInt(Integer::intValue)
+                    .toArray(),
+                column.topK(limit),
+                "Testing topK against sort"
+            );
+        }
+        Assertions.assertEquals(
+            0,
+            column.topK(0).length,
+            "Testing empty topK"
+        );
+    }
+
+    @Test
+    public void testForEmpty() {
+        Assertions.assertEquals(
+            0,
+            new NullableLongColumn().sortedIndex(true).length,
+            "Testing sort of empty column"
+        );
+    }
+
+    private static void checkSortedIndex(final int size) {
+        final List<Nullable<Long>> rows = NullableLongColumnTest.rows(size);
+        final NullableLongColumn column = new NullableLongColumn();
+        rows.forEach(column::append);
+        for (final boolean first : new boolean[] {true, false}) {
+            final Comparator<Nullable<Long>> order = Comparator.comparing(
+                Nullable::get,
+                first
+                    ? Comparator.nullsFirst(Comparator.<Long>naturalOrder())
+                    : Comparator.nullsLast(Comparator.<Long>naturalOrder())
+            );
+            Assertions.assertArrayEquals(
+                IntStream.range(0, rows.size()).boxed()
+                    .sorted(Comparator.comparing(rows::get, order))
+                    .mapToInt(Integer::intValue)
+                    .toArray(),
+                column.sortedIndex(first),
+                "Testing stable sort against comparator"
+            );
+        }
+    }
+
+    private static List<Nullable<Long>> rows(final int size) {
+        final Random random = new Random(42L);
+        return IntStream.range(0, size)
+            .mapToObj(
+                row -> {
+                    final Nullable<Long> value;
+                    if (random.nextInt(4) == 0) {
+                        value = new Nullable<>(null);
+                    } else if (random.nextBoolean()) {
+                        value = new Nullable<>((long) random.nextInt(100) - 50L);
+                    } else {
+                        value = new Nullable<>(random.nextLong());
+                    }
+                    return value;
+                }
+            )
+            .collect(Collectors.toCollection(ArrayList::new));
+    }
+}
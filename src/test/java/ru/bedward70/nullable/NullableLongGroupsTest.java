@@ -0,0 +1,182 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableLongGroups}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableLongGroupsTest {
+
+    @Test
+    public void testForGroups() {
+        final NullableLongGroups groups = NullableLongGroups.of(
+            NullableLongGroupsTest.keys()
+        );
+        Assertions.assertEquals(
+            3,
+            groups.size(),
+            "Testing number of groups"
+        );
+        Assertions.assertEquals(
+            Arrays.asList(
+                new Nullable<>(7L),
+                new Nullable<>(null),
+                new Nullable<>(9L)
+            ),
+            Arrays.asList(
+                groups.keys().get(0),
+                groups.keys().get(1),
+                groups.keys().get(2)
+            ),
+            "Testing keys of groups"
+        );
+        Assertions.assertEquals(
+            1,
+            groups.group(3),
+            "Testing group of absent key"
+        );
+    }
+
+    @Test
+    public void testForAggregates() {
+        final NullableLongGroups groups = NullableLongGroups.of(
+            NullableLongGroupsTest.keys()
+        );
+        final NullableLongColumn values = new NullableLongColumn()
+            .append(1L)
+            .append(10L)
+            .append(2L)
+            .append(20L)
+            .appendAbsent()
+            .appendAbsent();
+        Assertions.assertArrayEquals(
+            new long[] {2L, 2L, 0L},
+            groups.count(values),
+            "Testing count"
+        );
+        Assertions.assertArrayEquals(
+            new long[] {0L, 0L, 2L},
+            groups.countAbsent(values),
+            "Testing countAbsent"
+        );
+        Assertions.assertEquals(
+            Arrays.asList(
+                new Nullable<>(3L),
+                new Nullable<>(30L),
+                new Nullable<>(null)
+            ),
+            NullableLongGroupsTest.list(groups.sum(values)),
+            "Testing sum"
+        );
+        Assertions.assertEquals(
+            Arrays.asList(
+                new Nullable<>(1L),
+                new Nullable<>(10L),
+                new Nullable<>(null)
+            ),
+            NullableLongGroupsTest.list(groups.min(values)),
+            "Testing min"
+        );
+        Assertions.assertEquals(
+            Arrays.asList(
+                new Nullable<>(2L),
+                new Nullable<>(20L),
+                new Nullable<>(null)
+            ),
+            NullableLongGroupsTest.list(groups.max(values)),
+            "Testing max"
+        );
+        Assertions.assertEquals(
+            Arrays.asList(
+                new Nullable<>(1.5),
+                new Nullable<>(15.0),
+                new Nullable<>(null)
+            ),
+            groups.avg(values),
+            "Testing avg"
+        );
+    }
+
+    @Test
+    public void testForMismatchedColumns() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> NullableLongGroups.of(NullableLongGroupsTest.keys())
+                .count(new NullableLongColumn()),
+            "Testing mismatched columns"
+        );
+    }
+
+    @Test
+    public void testForManyGroups() {
+        final NullableLongColumn column = new NullableLongColumn();
+        for (int row = 0; row < 100_000; ++row) {
+            column.append(row % 40_000 * 31L);
+        }
+        final NullableLongGroups groups = NullableLongGroups.of(column);
+        Assertions.assertEquals(40_000, groups.size(), "Testing group count");
+        Assertions.assertEquals(
+            groups.group(5), groups.group(80_005), "Testing same group"
+        );
+    }
+
+    @Test
+    public void testForIllegalTableSize() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new LongIntTable(Integer.MAX_VALUE),
+            "Testing expected size over the maximum capacity"
+        );
+    }
+
+    private static NullableLongColumn keys() {
+        return new NullableLongColumn()
+            .append(7L)
+            .appendAbsent()
+            .append(7L)
+            .appendAbsent()
+            .append(9L)
+            .append(9L);
+    }
+
+    private static List<Nullable<Long>> list(
+        final NullableLongColumn column) {
+        final List<Nullable<Long>> result = new ArrayList<>(
+            column.size()
+        );
+        for (int row = 0; row < column.size(); ++row) {
+            result.add(column.get(row));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableLongJoin}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableLongJoinTest {
+
+    @Test
+    public void testForInner() {
+        final NullableLongJoin join = NullableLongJoin.inner(
+            new NullableLongColumn().append(1L).appendAbsent().append(2L),
+            new NullableLongColumn().append(2L).append(1L).appendAbsent()
+                .append(2L)
+        );
+        Assertions.assertArrayEquals(
+            new int[] {0, 2, 2},
+            join.leftRows(),
+            "Testing left rows of inner join"
+        );
+        Assertions.assertArrayEquals(
+            new int[] {1, 0, 3},
+            join.rightRows(),
+            "Testing right rows of inner join"
+        );
+    }
+
+    @Test
+    public void testForLeft() {
+        final NullableLongJoin join = NullableLongJoin.left(
+            new NullableLongColumn().append(1L).appendAbsent().append(3L),
+            new NullableLongColumn().appendAbsent().append(1L)
+        );
+        Assertions.assertArrayEquals(
+            new int[] {0, 1, 2},
+            join.leftRows(),
+            "Testing left rows of left join"
+        );
+        Assertions.assertArrayEquals(
+            new int[] {1, -1, -1},
+            join.rightRows(),
+            "Testing right rows of left join"
+        );
+    }
+
+    @Test
+    public void testForNestedLoops() {
+        final Random random = new Random(42L);
+        final NullableLongColumn left = NullableLongJoinTest.column(random);
+        final NullableLongColumn right = NullableLongJoinTest.column(random);
+        final List<Integer> lefts = new ArrayList<>(0);
+        final List<Integer> rights = new ArrayList<>(0);
+        for (int lrow = 0; lrow < left.size(); ++lrow) {
+            for (int rrow = 0; rrow < right.size(); ++rrow) {
+                if (left.isPresent(lrow) && left.get(lrow).equals(right.get(rrow))) {
+                    lefts.add(lrow);
+                    rights.add(rrow);
+                }
+            }
+        }
+        final NullableLongJoin join = NullableLongJoin.inner(left, right);
+        Assertions.assertArrayEquals(
+            lefts.stream().mapToInt(Integer::intValue).toArray(),
+            join.leftRows(),
+            "Testing left rows against nested loops"
+        );
+        Assertions.assertArrayEquals(
+            rights.stream().mapToInt(Integer::intValue).toArray(),
+            join.rightRows(),
+            "Testing right rows against nested loops"
+        );
+    }
+
+    private static NullableLongColumn column(final Random random) {
+        final NullableLongColumn result = new NullableLongColumn();
+        for (int row = 0; row < 1_000; ++row) {
+            if (random.nextInt(5) == 0) {
+                result.appendAbsent();
+            } else {
+                result.append(random.nextInt(300));
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableLongWindows}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ * @checkstyle AvoidInlineConditionalsCheck (500 lines)
+ */
+public final class NullableLongWindowsTest {
+
+    @Test
+    public void testForFillForward() {
+        Assertions.assertEquals(
+            NullableLongWindowsTest.list(null, 1L, 1L, 1L, null, 5L, 5L),
+            NullableLongWindowsTest.list(
+                NullableLongWindows.fillForward(
+                    NullableLongWindowsTest.series(), 2
+                )
+            ),
+            "Testing fillForward"
+        );
+    }
+
+    @Test
+    public void testForFillBackward() {
+        Assertions.assertEquals(
+            NullableLongWindowsTest.list(1L, 1L, null, 5L, 5L, 5L, null),
+            NullableLongWindowsTest.list(
+                NullableLongWindows.fillBackward(
+                    NullableLongWindowsTest.series(), 2
+                )
+            ),
+            "Testing fillBackward"
+        );
+    }
+
+    @Test
+    public void testForInterpolate() {
+        Assertions.assertEquals(
+            NullableLongWindowsTest.list(null, 1L, 2L, 3L, 4L, 5L, null),
+            NullableLongWindowsTest.list(
+                NullableLongWindows.interpolate(
+                    NullableLongWindowsTest.series(), 3
+                )
+            ),
+            "Testing interpolate"
+        );
+        Assertions.assertEquals(
+            NullableLongWindowsTest.list(null, 1L, null, null, null, 5L, null),
+            NullableLongWindowsTest.list(
+                NullableLongWindows.interpolate(
+                    NullableLongWindowsTest.series(), 2
+                )
+            ),
+            "Testing interpolate with long gap"
+        );
+    }
+
+    @Test
+    public void testForRolling() {
+        Assertions.assertEquals(
+            NullableLongWindowsTest.list(null, 1L, 1L, null, null, 5L, 5L),
+            NullableLongWindowsTest.list(
+                NullableLongWindows.rolling(
+                    NullableLongWindowsTest.series(), 2,
+                    window -> window.maxOr(0L)
+                )
+            ),
+            "Testing rolling max"
+        );
+    }
+
+    @Test
+    public void testForRollingMean() {
+        final NullableDoubleColumn means = NullableLongWindows.rollingMean(
+            NullableLongWindowsTest.series().append(8L), 3
+        );
+        Assertions.assertFalse(means.isPresent(0), "Testing empty window");
+        Assertions.assertEquals(
+            1.0, means.getOr(3, 0.0), "Testing mean of one value"
+        );
+        Assertions.assertFalse(means.isPresent(4), "Testing absent window");
+        Assertions.assertEquals(
+            6.5, means.getOr(7, 0.0), "Testing mean of two values"
+        );
+    }
+
+    @Test
+    public void testForParallelFill() {
+        final NullableLongColumn column = NullableLongWindowsTest.large();
+        for (final int gap : new int[] {0, 7, 20_000, 100_000}) {
+            for (final NullableGapFiller.Fill fill
+                : NullableGapFiller.Fill.values()) {
+                final NullableLongColumn expected = new NullableLongColumn();
+                final NullableGapFiller filler =
+                    new NullableGapFiller(fill, gap, expected::append);
+                for (int row = 0; row < column.size(); ++row) {
+                    filler.push(column.get(row));
+                }
+                filler.flush();
+                final NullableLongColumn actual;
+                if (fill == NullableGapFiller.Fill.FORWARD) {
+                    actual = NullableLongWindows.fillForward(column, gap);
+                } else if (fill == NullableGapFiller.Fill.BACKWARD) {
+                    actual = NullableLongWindows.fillBackward(column, gap);
+                } else {
+                    actual = NullableLongWindows.interpolate(column, gap);
+                }
+                Assertions.assertEquals(
+                    NullableLongWindowsTest.list(expected),
+                    NullableLongWindowsTest.list(actual),
+                    String.format("Testing parallel %s with gap %d", fill, gap)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testForParallelRolling() {
+        final NullableLongColumn column = NullableLongWindowsTest.large();
+        for (final int width : new int[] {1, 100, 50_000}) {
+            final NullableLongColumn sums = NullableLongWindows.rolling(
+                column, width, window -> window.sumOr(0L)
+            );
+            final NullableLongColumn mins = NullableLongWindows.rolling(
+                column, width, window -> window.minOr(0L)
+            );
+            final NullableRollingWindow window =
+                new NullableRollingWindow(width);
+            for (int row = 0; row < column.size(); ++row) {
+                window.push(column.get(row));
+                Assertions.assertEquals(
+                    window.sum(), sums.get(row),
+                    String.format("Testing sum of width %d", width)
+                );
+                Assertions.assertEquals(
+                    window.min(), mins.get(row),
+                    String.format("Testing min of width %d", width)
+                );
+            }
+        }
+    }
+
+    private static NullableLongColumn large() {
+        final Random random = new Random(42L);
+        final NullableLongColumn result = new NullableLongColumn();
+        while (result.size() < 300_000) {
+            final int run = random.nextInt(4) == 0
+                ? random.nextInt(40_000)
+                : random.nextInt(10);
+            for (int idx = 0; idx < run; ++idx) {
+                result.appendAbsent();
+            }
+            for (int idx = random.nextInt(20); idx > 0; --idx) {
+                result.append(random.nextInt(2_000_000) - 1_000_000L);
+            }
+        }
+        return result;
+    }
+
+    private static NullableLongColumn series() {
+        return new NullableLongColumn()
+            .appendAbsent()
+            .append(1L)
+            .appendAbsent()
+            .appendAbsent()
+            .appendAbsent()
+            .append(5L)
+            .appendAbsent();
+    }
+
+    private static List<Nullable<Long>> list(final Long... values) {
+        final List<Nullable<Long>> result = new ArrayList<>(values.length);
+        Arrays.stream(values).map(Nullable::new).forEach(result::add);
+        return result;
+    }
+
+    private static List<Nullable<Long>> list(final NullableLongColumn column) {
+        final List<Nullable<Long>> result = new ArrayList<>(column.size());
+        for (int row = 0; row < column.size(); ++row) {
+            result.add(column.get(row));
+        }
+        return result;
+    }
+}
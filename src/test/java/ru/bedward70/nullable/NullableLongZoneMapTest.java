@@ -0,0 +1,97 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableLongZoneMap}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableLongZoneMapTest {
+
+    @Test
+    public void testForEmpty() {
+        final NullableLongZoneMap index = new NullableLongZoneMap(
+            new NullableLongColumn().appendAbsent().appendAbsent(), 1
+        );
+        Assertions.assertEquals(
+            0L,
+            index.countPresent(),
+            "Testing countPresent for absent values"
+        );
+        Assertions.assertEquals(
+            -1,
+            index.firstPresent(),
+            "Testing firstPresent for absent values"
+        );
+    }
+
+    @Test
+    public void testForScan() {
+        final Random random = new Random(42L);
+        final NullableLongColumn column = new NullableLongColumn();
+        final NullableLongZoneMap index = new NullableLongZoneMap(column, 64);
+        for (int step = 0; step < 3; ++step) {
+            for (int row = 0; row < 1_000; ++row) {
+                if (random.nextInt(10) < 8 || row > 500) {
+                    column.appendAbsent();
+                } else {
+                    column.append(random.nextInt(1_000));
+                }
+            }
+            Assertions.assertEquals(
+                IntStream.range(0, column.size())
+                    .filter(column::isPresent)
+                    .count(),
+                index.countPresent(),
+                "Testing countPresent against scan"
+            );
+            Assertions.assertEquals(
+                IntStream.range(0, column.size())
+                    .filter(column::isPresent)
+                    .findFirst()
+                    .orElse(-1),
+                index.firstPresent(),
+                "Testing firstPresent against scan"
+            );
+            Assertions.assertArrayEquals(
+                IntStream.range(0, column.size())
+                    .filter(
+                        row -> column.get(row)
+                            .filter(value -> value >= 100L && value <= 300L)
+                            .isPresent()
+                    )
+                    .toArray(),
+                index.filterRange(100L, 300L),
+                "Testing filterRange against scan"
+            );
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableObjectColumn}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableObjectColumnTest {
+
+    @Test
+    public void testForValues() {
+        final NullableObjectColumn<String> column =
+            new NullableObjectColumn<String>(0)
+                .append("first")
+                .append((String) null)
+                .append(new Nullable<>("third"))
+                .append(new Nullable<>(null));
+        Assertions.assertEquals(
+            4,
+            column.size(),
+            "Testing size"
+        );
+        Assertions.assertEquals(
+            new Nullable<>("third"),
+            column.get(2),
+            "Testing present row"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            column.get(3),
+            "Testing absent row"
+        );
+        Assertions.assertEquals(
+            "other",
+            column.getOr(1, "other"),
+            "Testing getOr for absent row"
+        );
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> column.get(4),
+            "Testing row out of bounds"
+        );
+    }
+
+    @Test
+    public void testForSortedIndex() {
+        NullableObjectColumnTest.checkSortedIndex(1_000);
+    }
+
+    @Test
+    public void testForParallelSortedIndex() {
+        NullableObjectColumnTest.checkSortedIndex(100_000);
+    }
+
+    private static void checkSortedIndex(final int size) {
+        final Random random = new Random(size);
+        final NullableObjectColumn<String> column =
+            new NullableObjectColumn<>(size);
+        final List<Integer> present = new ArrayList<>(size);
+        final List<Integer> absent = new ArrayList<>(size);
+        for (int row = 0; row < size; ++row) {
+            if (random.nextInt(5) == 0) {
+                column.append((String) null);
+                absent.add(row);
+            } else {
+                column.append(String.valueOf(random.nextInt(size / 10)));
+                present.add(row);
+            }
+        }
+        final Comparator<String> order = Comparator.comparing(String::length)
+            .thenComparing(Comparator.reverseOrder());
+        present.sort(
+            (left, right) -> order.compare(
+                column.getOr(left, null), column.getOr(right, null)
+            )
+        );
+        final List<Integer> last = new ArrayList<>(present);
+        last.addAll(absent);
+        final List<Integer> first = new ArrayList<>(absent);
+        first.addAll(present);
+        Assertions.assertEquals(
+            last,
+            NullableObjectColumnTest.list(column.sortedIndex(order, false)),
+            "Testing stable order with absent rows last"
+        );
+        Assertions.assertEquals(
+            first,
+            NullableObjectColumnTest.list(column.sortedIndex(order, true)),
+            "Testing stable order with absent rows first"
+        );
+    }
+
+    private static List<Integer> list(final int[] rows) {
+        final List<Integer> result = new ArrayList<>(rows.length);
+        for (final int row : rows) {
+            result.add(row);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Of and empty test cases for {@link Nullable}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableOfTest {
+
+    @Test
+    public void testForNull() {
+        Assertions.assertSame(
+            Nullable.empty(),
+            Nullable.of(null),
+            "Testing shared container for null case"
+        );
+        Assertions.assertEquals(
+            new Nullable<>(null),
+            Nullable.of(null),
+            "Testing equality for null case"
+        );
+    }
+
+    @Test
+    public void testForNonNull() {
+        final String string = "value for of";
+        final Nullable<String> n = Nullable.of(string);
+        Assertions.assertEquals(
+            new Nullable<>(string),
+            n,
+            "Testing equality for non-null case"
+        );
+        Assertions.assertSame(
+            string,
+            n.get(),
+            "Testing value for non-null case"
+        );
+    }
+
+    @Test
+    public void testForRejectedFilter() {
+        Assertions.assertSame(
+            Nullable.empty(),
+            new Nullable<>("value for filter").filter(value -> false),
+            "Testing shared container for rejected filter"
+        );
+    }
+
+    @Test
+    public void testForMapToNull() {
+        Assertions.assertSame(
+            Nullable.empty(),
+            new Nullable<>("value for map").map(value -> null),
+            "Testing shared container for map to null"
+        );
+    }
+
+    @Test
+    public void testForMapOrGetToNull() {
+        Assertions.assertSame(
+            Nullable.empty(),
+            new Nullable<String>(null).mapOrGet(() -> null),
+            "Testing shared container for mapOrGet to null"
+        );
+    }
+
+    @Test
+    public void testForChain() {
+        for (final String string
+            : Arrays.asList(null, "", "   ", " chain ", "x", "\tTab\n")) {
+            String expected = null;
+            if (string != null) {
+                final String trimmed = string.trim();
+                if (!trimmed.isEmpty()) {
+                    expected = trimmed.toUpperCase();
+                }
+            }
+            Assertions.assertEquals(
+                expected,
+                Nullable.of(string)
+                    .map(String::trim)
+                    .filter(value -> !value.isEmpty())
+                    .map(String::toUpperCase)
+                    .get(),
+                String.format("Testing chain for %s", string)
+            );
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableResultSet}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableResultSetTest {
+
+    @Test
+    public void testForRow() throws SQLException {
+        final ResultSet rset = NullableResultSetTest.resultSet();
+        rset.next();
+        final NullableResultSet nullable = new NullableResultSet(rset);
+        Assertions.assertEquals(
+            new Nullable<>(1L),
+            nullable.getLong(1),
+            "Testing long value"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            nullable.getString(2),
+            "Testing null string value"
+        );
+        Assertions.assertEquals(
+            new Nullable<>(1.5),
+            nullable.getObject(3, Double.class),
+            "Testing object value"
+        );
+        Assertions.assertEquals(
+            new Nullable<>(1.5),
+            nullable.getDouble(3),
+            "Testing double value"
+        );
+        rset.next();
+        Assertions.assertSame(
+            Nullable.empty(),
+            nullable.getLong(1),
+            "Testing null long value"
+        );
+        Assertions.assertEquals(
+            -1.0,
+            nullable.getDoubleOr(3, -1.0),
+            "Testing getDoubleOr for null value"
+        );
+        Assertions.assertEquals(
+            -1L,
+            nullable.getLongOr(1, -1L),
+            "Testing getLongOr for null value"
+        );
+    }
+
+    @Test
+    public void testForFetch() throws SQLException {
+        final NullableResultSet.Columns columns =
+            new NullableResultSet(NullableResultSetTest.resultSet()).fetch(100);
+        Assertions.assertEquals(
+            4,
+            columns.size(),
+            "Testing number of columns"
+        );
+        Assertions.assertEquals(
+            new Nullable<>(1L),
+            columns.longs(1).get(0),
+            "Testing first long"
+        );
+        Assertions.assertFalse(
+            columns.longs(1).isPresent(1),
+            "Testing null long"
+        );
+        Assertions.assertEquals(
+            new Nullable<>("second"),
+            columns.strings(2).get(1),
+            "Testing string"
+        );
+        Assertions.assertEquals(
+            1.5,
+            columns.doubles(3).getOr(0, 0.0),
+            "Testing double"
+        );
+        Assertions.assertFalse(
+            columns.doubles(3).isPresent(1),
+            "Testing null double"
+        );
+        Assertions.assertEquals(
+            new Nullable<>(new BigDecimal("2.50")),
+            columns.objects(4).get(0),
+            "Testing decimal object"
+        );
+        Assertions.assertFalse(
+            columns.objects(4).isPresent(1),
+            "Testing null object"
+        );
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> columns.strings(1),
+            "Testing column of another type"
+        );
+    }
+
+    @Test
+    public void testForBatches() throws SQLException {
+        final NullableResultSet nullable =
+            new NullableResultSet(NullableResultSetTest.resultSet());
+        final NullableResultSet.Columns first = nullable.fetch(1, 1);
+        final NullableResultSet.Columns second = nullable.fetch(1, 1);
+        final NullableResultSet.Columns third = nullable.fetch(1, 1);
+        Assertions.assertEquals(
+            new Nullable<>(1L),
+            first.longs(1).get(0),
+            "Testing first batch"
+        );
+        Assertions.assertEquals(
+            new Nullable<>("second"),
+            second.strings(2).get(0),
+            "Testing second batch"
+        );
+        Assertions.assertEquals(
+            1,
+            second.doubles(3).size(),
+            "Testing size of batch"
+        );
+        Assertions.assertEquals(
+            0,
+            third.longs(1).size(),
+            "Testing exhausted result set"
+        );
+    }
+
+    /**
+     * A result set stand-in of two rows.
+     * @return The result set.
+     */
+    private static ResultSet resultSet() {
+        final Object[][] rows = {
+            {1L, null, 1.5, new BigDecimal("2.50")},
+            {null, "second", null, null},
+        };
+        final int[] types = {
+            Types.BIGINT, Types.VARCHAR, Types.DOUBLE, Types.DECIMAL,
+        };
+        final ResultSetMetaData meta =
+            (ResultSetMetaData) Proxy.newProxyInstance(
+                ResultSetMetaData.class.getClassLoader(),
+                new Class<?>[] {ResultSetMetaData.class},
+                (proxy, method, args) -> {
+                    final Object result;
+                    if ("getColumnCount".equals(method.getName())) {
+                        result = types.length;
+                    } else if ("getColumnType".equals(method.getName())) {
+                        result = types[(Integer) args[0] - 1];
+                    } else {
+                        throw new UnsupportedOperationException(
+                            method.getName()
+                        );
+                    }
+                    return result;
+                }
+            );
+        final AtomicInteger row = new AtomicInteger(-1);
+        final AtomicBoolean nulled = new AtomicBoolean();
+        return (ResultSet) Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+                final Object result;
+                final String name = method.getName();
+                if ("next".equals(name)) {
+                    result = row.incrementAndGet() < rows.length;
+                } else if ("getMetaData".equals(name)) {
+                    result = meta;
+                } else if ("setFetchSize".equals(name)) {
+                    result = null;
+                } else if ("wasNull".equals(name)) {
+                    result = nulled.get();
+                } else if (name.startsWith("get")) {
+                    final Object value = rows[row.get()][(Integer) args[0] - 1];
+                    nulled.set(value == null);
+                    if ("getLong".equals(name) && value == null) {
+                        result = 0L;
+                    } else if ("getDouble".equals(name) && value == null) {
+                        result = 0.0;
+                    } else {
+                        result = value;
+                    }
+                } else {
+                    throw new UnsupportedOperationException(name);
+                }
+                return result;
+            }
+        );
+    }
+}
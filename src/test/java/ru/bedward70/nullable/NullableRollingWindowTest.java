@@ -0,0 +1,115 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Random;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableRollingWindow}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableRollingWindowTest {
+
+    @Test
+    public void testForEmpty() {
+        final NullableRollingWindow window = new NullableRollingWindow(3)
+            .pushAbsent()
+            .push(new Nullable<>(null));
+        Assertions.assertFalse(
+            window.sum().isPresent(),
+            "Testing sum for absent values"
+        );
+        Assertions.assertFalse(
+            window.min().isPresent(),
+            "Testing min for absent values"
+        );
+        Assertions.assertEquals(
+            2,
+            window.countAbsent(),
+            "Testing countAbsent"
+        );
+    }
+
+    @Test
+    public void testForRandomSeries() {
+        final Random random = new Random(42L);
+        final int width = 5;
+        final Long[] series = new Long[2_000];
+        final NullableRollingWindow window = new NullableRollingWindow(width);
+        for (int row = 0; row < series.length; ++row) {
+            if (random.nextInt(3) == 0) {
+                series[row] = null;
+            } else {
+                series[row] = (long) random.nextInt(100);
+            }
+            window.push(new Nullable<>(series[row]));
+            final long[] present = LongStream.rangeClosed(
+                Math.max(0, row - width + 1), row
+            )
+                .filter(idx -> series[(int) idx] != null)
+                .map(idx -> series[(int) idx])
+                .toArray();
+            Assertions.assertEquals(
+                present.length == 0
+                    ? new Nullable<>(null)
+                    : new Nullable<>(LongStream.of(present).sum()),
+                window.sum(),
+                "Testing sum against scan"
+            );
+            Assertions.assertEquals(
+                Nullable.of(
+                    LongStream.of(present).boxed().min(Long::compare).orElse(null)
+                ),
+                window.min(),
+                "Testing min against scan"
+            );
+            Assertions.assertEquals(
+                Nullable.of(
+                    LongStream.of(present).boxed().max(Long::compare).orElse(null)
+                ),
+                window.max(),
+                "Testing max against scan"
+            );
+            Assertions.assertEquals(
+                Nullable.of(
+                    present.length == 0
+                        ? null
+                        : LongStream.of(present).average().getAsDouble()
+                ),
+                window.mean(),
+                "Testing mean against scan"
+            );
+            Assertions.assertEquals(
+                Math.min(row + 1, width) - present.length,
+                window.countAbsent(),
+                "Testing countAbsent against scan"
+            );
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableSegmentedColumn}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableSegmentedColumnTest {
+
+    @Test
+    public void testForSnapshots() {
+        final NullableSegmentedColumn<String> column =
+            new NullableSegmentedColumn<>(1);
+        column.append("first").append(null).append("third");
+        final NullableSegmentedColumn.Snapshot<String> before = column.snapshot();
+        column.set(0, "changed").append("fourth");
+        Assertions.assertEquals(
+            3,
+            before.size(),
+            "Testing size of old snapshot"
+        );
+        Assertions.assertEquals(
+            new Nullable<>("first"),
+            before.get(0),
+            "Testing old snapshot keeps its value"
+        );
+        final NullableSegmentedColumn.Snapshot<String> after = column.snapshot();
+        Assertions.assertEquals(
+            "changed",
+            after.getOr(0, "other"),
+            "Testing new snapshot sees the update"
+        );
+        Assertions.assertEquals(
+            "other",
+            after.getOr(1, "other"),
+            "Testing getOr for absent row"
+        );
+        final List<String> present = new ArrayList<>(3);
+        after.forEachPresent(present::add);
+        Assertions.assertEquals(
+            Arrays.asList("changed", "third", "fourth"),
+            present,
+            "Testing forEachPresent"
+        );
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> before.get(3),
+            "Testing row out of snapshot"
+        );
+    }
+
+    @Test
+    public void testForConcurrentReaders() throws InterruptedException {
+        final NullableSegmentedColumn<Integer> column =
+            new NullableSegmentedColumn<>(4);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean broken = new AtomicBoolean();
+        final Thread[] readers = new Thread[4];
+        for (int idx = 0; idx < readers.length; ++idx) {
+            readers[idx] = new Thread(
+                () -> {
+                    while (!done.get()) {
+                        final NullableSegmentedColumn.Snapshot<Integer> snapshot =
+                            column.snapshot();
+                        for (int row = 0; row < snapshot.size(); ++row) {
+                            final int value = snapshot.getOr(row, -1);
+                            if (value != row && value != -row) {
+                                broken.set(true);
+                            }
+                        }
+                    }
+                }
+            );
+            readers[idx].start();
+        }
+        for (int row = 0; row < 5_000; ++row) {
+            column.append(row);
+            if (row % 7 == 0) {
+                column.set(row / 2, -(row / 2));
+            }
+        }
+        done.set(true);
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+        Assertions.assertFalse(
+            broken.get(),
+            "Testing readers see only published rows"
+        );
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableSignal}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableSignalTest {
+
+    @Test
+    public void testForSource() {
+        final NullableSignal<String> source = new NullableSignal<>(null);
+        Assertions.assertFalse(
+            source.get().isPresent(),
+            "Testing source for null case"
+        );
+        source.set("value for source");
+        Assertions.assertEquals(
+            new Nullable<>("value for source"),
+            source.get(),
+            "Testing source for non-null case"
+        );
+    }
+
+    @Test
+    public void testForChain() {
+        final NullableSignal<String> source = new NullableSignal<>(" chain ");
+        final NullableSignal<String> derived = source
+            .map(String::trim)
+            .filter(value -> !value.isEmpty())
+            .mapOrGet(() -> "other");
+        Assertions.assertEquals(
+            new Nullable<>("chain"),
+            derived.get(),
+            "Testing chain for non-null case"
+        );
+        source.set("   ");
+        Assertions.assertEquals(
+            new Nullable<>("other"),
+            derived.get(),
+            "Testing chain for filtered case"
+        );
+    }
+
+    @Test
+    public void testForLazyRecompute() {
+        final NullableSignal<String> source = new NullableSignal<>("lazy");
+        final AtomicInteger countUseLength = new AtomicInteger();
+        final AtomicInteger countUseDouble = new AtomicInteger();
+        final NullableSignal<Integer> doubled = source
+            .map(
+                value -> {
+                    countUseLength.incrementAndGet();
+                    return value.length();
+                }
+            )
+            .map(
+                value -> {
+                    countUseDouble.incrementAndGet();
+                    return value * 2;
+                }
+            );
+        Assertions.assertEquals(
+            0,
+            countUseLength.get(),
+            "Testing nothing computed before read"
+        );
+        doubled.get();
+        doubled.get();
+        source.set("lazy");
+        doubled.get();
+        Assertions.assertEquals(
+            1,
+            countUseLength.get(),
+            "Testing equal value does not recompute"
+        );
+        source.set("same");
+        Assertions.assertEquals(
+            new Nullable<>(8),
+            doubled.get(),
+            "Testing result after change"
+        );
+        Assertions.assertEquals(
+            2,
+            countUseLength.get(),
+            "Testing changed source recomputes"
+        );
+        Assertions.assertEquals(
+            1,
+            countUseDouble.get(),
+            "Testing equal intermediate value does not recompute"
+        );
+    }
+
+    @Test
+    public void testForZip() {
+        final NullableSignal<String> left = new NullableSignal<>("left");
+        final NullableSignal<Integer> right = new NullableSignal<>(null);
+        final NullableSignal<String> zipped = left.zip(
+            right, (str, num) -> str + num
+        );
+        Assertions.assertFalse(
+            zipped.get().isPresent(),
+            "Testing zip for null case"
+        );
+        right.set(1);
+        Assertions.assertEquals(
+            new Nullable<>("left1"),
+            zipped.get(),
+            "Testing zip for non-null case"
+        );
+    }
+
+    @Test
+    public void testForDerivedSet() {
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> new NullableSignal<>("derived").map(String::length).set(1),
+            "Testing set of derived signal"
+        );
+    }
+
+    @Test
+    public void testForGlitchFree() throws InterruptedException {
+        final NullableSignal<Integer> source = new NullableSignal<>(0);
+        final NullableSignal<Boolean> same = source.map(value -> value)
+            .zip(source.map(value -> -value), (left, right) -> left == -right);
+        final AtomicBoolean glitch = new AtomicBoolean();
+        final AtomicBoolean done = new AtomicBoolean();
+        final Thread[] readers = new Thread[4];
+        for (int idx = 0; idx < readers.length; ++idx) {
+            readers[idx] = new Thread(
+                () -> {
+                    while (!done.get()) {
+                        if (!same.get().get()) {
+                            glitch.set(true);
+                        }
+                    }
+                }
+            );
+            readers[idx].start();
+        }
+        for (int value = 1; value <= 100_000; ++value) {
+            source.set(value);
+        }
+        done.set(true);
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+        Assertions.assertFalse(
+            glitch.get(),
+            "Testing readers never see mixed source versions"
+        );
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableSink}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableSinkTest {
+
+    @Test
+    public void testForFlushOnClose() {
+        final List<List<Integer>> batches =
+            Collections.synchronizedList(new ArrayList<>(0));
+        final NullableSink<Integer> sink = new NullableSink<>(
+            batches::add, 16, 5, NullableSink.Overflow.BLOCK
+        );
+        for (int value = 0; value < 1_000; ++value) {
+            new Nullable<>(value).ifPresent(sink);
+            sink.offer(new Nullable<>(null));
+        }
+        sink.close();
+        Assertions.assertEquals(
+            IntStream.range(0, 1_000).boxed().collect(Collectors.toList()),
+            batches.stream().flatMap(List::stream).collect(Collectors.toList()),
+            "Testing all values are delivered in order"
+        );
+        Assertions.assertTrue(
+            batches.stream().allMatch(batch -> batch.size() <= 5),
+            "Testing batch size"
+        );
+        Assertions.assertEquals(
+            1_000,
+            sink.skipped(),
+            "Testing count of skipped absent values"
+        );
+        Assertions.assertThrows(
+            IllegalStateException.class,
+            () -> sink.accept(1),
+            "Testing accept after close"
+        );
+    }
+
+    @Test
+    public void testForCountAndDrop() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<Integer> delivered =
+            Collections.synchronizedList(new ArrayList<>(0));
+        final NullableSink<Integer> sink = new NullableSink<>(
+            batch -> {
+                try {
+                    latch.await();
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                delivered.addAll(batch);
+            },
+            4,
+            1,
+            NullableSink.Overflow.COUNT_AND_DROP
+        );
+        for (int value = 0; value < 100; ++value) {
+            sink.accept(value);
+        }
+        latch.countDown();
+        sink.close();
+        Assertions.assertEquals(
+            100,
+            delivered.size() + sink.dropped(),
+            "Testing every value is delivered or dropped"
+        );
+        Assertions.assertTrue(
+            sink.dropped() > 0,
+            "Testing full buffer drops values"
+        );
+    }
+
+    @Test
+    public void testForFailingTarget() {
+        final NullableSink<Integer> sink = new NullableSink<>(
+            batch -> {
+                throw new IllegalStateException("Failing target");
+            },
+            4,
+            10,
+            NullableSink.Overflow.BLOCK
+        );
+        sink.accept(1);
+        sink.close();
+        Assertions.assertEquals(
+            1,
+            sink.errors(),
+            "Testing count of failed batches"
+        );
+    }
+
+    @Test
+    public void testForConcurrentClose() throws InterruptedException {
+        for (final NullableSink.Overflow overflow
+            : NullableSink.Overflow.values()) {
+            Assertions.assertTimeoutPreemptively(
+                Duration.ofSeconds(30L),
+                () -> NullableSinkTest.closeRounds(overflow),
+                "Testing close does not hang producers"
+            );
+        }
+    }
+
+    /**
+     * Races producers with close, and checks every accepted value
+     * is delivered or dropped.
+     * @param overflow What to do when the buffer is full.
+     * @throws InterruptedException If interrupted.
+     */
+    private static void closeRounds(final NullableSink.Overflow overflow)
+        throws InterruptedException {
+        for (int round = 0; round < 50; ++round) {
+            final LongAdder delivered = new LongAdder();
+            final NullableSink<Integer> sink = new NullableSink<>(
+                batch -> delivered.add(batch.size()), 64, 8, overflow
+            );
+            final AtomicLong accepted = new AtomicLong();
+            final CountDownLatch started = new CountDownLatch(4);
+            final List<Thread> producers = new ArrayList<>(4);
+            for (int idx = 0; idx < 4; ++idx) {
+                final Thread producer = new Thread(
+                    () -> {
+                        started.countDown();
+                        try {
+                            while (true) {
+                                sink.accept(1);
+                                accepted.incrementAndGet();
+                            }
+                        } catch (final IllegalStateException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                );
+                producer.start();
+                producers.add(producer);
+            }
+            started.await();
+            sink.close();
+            for (final Thread producer : producers) {
+                producer.join();
+            }
+            if (overflow != NullableSink.Overflow.DROP) {
+                Assertions.assertEquals(
+                    accepted.get(),
+                    delivered.sum() + sink.dropped(),
+                    "Testing every accepted value is delivered or dropped"
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableSlotArray}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableSlotArrayTest {
+
+    @Test
+    public void testForClaimAndRelease() {
+        final NullableSlotArray<String> array = new NullableSlotArray<>(3);
+        final int first = array.claim("first");
+        final int second = array.claim("second");
+        final int third = array.claim("third");
+        Assertions.assertEquals(
+            -1,
+            array.claim("fourth"),
+            "Testing claim of full array"
+        );
+        Assertions.assertEquals(
+            new Nullable<>("second"),
+            array.get(second),
+            "Testing get of taken slot"
+        );
+        Assertions.assertTrue(
+            array.release(second),
+            "Testing release of taken slot"
+        );
+        Assertions.assertFalse(
+            array.release(second),
+            "Testing release of free slot"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            array.get(second),
+            "Testing get of free slot"
+        );
+        Assertions.assertEquals(
+            second,
+            array.claim("again"),
+            "Testing claim of released slot"
+        );
+        final List<String> present = new ArrayList<>(3);
+        array.forEachPresent((value, slot) -> present.add(value));
+        present.sort(String::compareTo);
+        Assertions.assertEquals(
+            Arrays.asList("again", "first", "third"),
+            present,
+            "Testing forEachPresent"
+        );
+        Assertions.assertNotEquals(
+            first,
+            third,
+            "Testing distinct slots"
+        );
+    }
+
+    @Test
+    public void testForConcurrentClaims() throws InterruptedException {
+        final NullableSlotArray<Thread> array = new NullableSlotArray<>(200);
+        final AtomicBoolean broken = new AtomicBoolean();
+        final Thread[] threads = new Thread[8];
+        for (int idx = 0; idx < threads.length; ++idx) {
+            threads[idx] = new Thread(
+                () -> {
+                    final Thread self = Thread.currentThread();
+                    for (int round = 0; round < 10_000; ++round) {
+                        final int slot = array.claim(self);
+                        if (slot < 0 || array.get(slot).get() != self) {
+                            broken.set(true);
+                        } else {
+                            array.release(slot);
+                        }
+                    }
+                }
+            );
+            threads[idx].start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertFalse(
+            broken.get(),
+            "Testing each claimed slot is owned by one thread"
+        );
+        final List<Thread> left = new ArrayList<>(0);
+        array.forEachPresent((value, slot) -> left.add(value));
+        Assertions.assertTrue(
+            left.isEmpty(),
+            "Testing all slots are released"
+        );
+    }
+}
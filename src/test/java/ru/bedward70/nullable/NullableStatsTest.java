@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableStats}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableStatsTest {
+
+    @Test
+    public void testForDisabled() {
+        final NullableStats stats = new NullableStats("disabled", false, 1);
+        final Nullable<String> n = new Nullable<>("value for disabled");
+        Assertions.assertSame(
+            n,
+            stats.trace(n),
+            "Testing disabled tracing returns the container"
+        );
+        Assertions.assertEquals(
+            0,
+            stats.getPresent(),
+            "Testing disabled tracing counts nothing"
+        );
+    }
+
+    @Test
+    public void testForPresence() {
+        final NullableStats stats = new NullableStats("presence", true, 1);
+        stats.trace(new Nullable<>("value for presence"));
+        stats.trace(new Nullable<>(null));
+        stats.trace(new Nullable<>(null));
+        Assertions.assertEquals(
+            1,
+            stats.getPresent(),
+            "Testing present count"
+        );
+        Assertions.assertEquals(
+            2,
+            stats.getAbsent(),
+            "Testing absent count"
+        );
+    }
+
+    @Test
+    public void testForRegister() throws JMException {
+        final NullableStats stats = new NullableStats("register", true, 1)
+            .register();
+        stats.trace(new Nullable<>("value for register"));
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(
+            "ru.bedward70.nullable:type=NullableStats,name=\"register\""
+        );
+        try {
+            Assertions.assertEquals(
+                1L,
+                server.getAttribute(name, "Present"),
+                "Testing present count through JMX"
+            );
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+    @Test
+    public void testForChain() {
+        final NullableStats stats = new NullableStats("chain", true, 1);
+        final String fallback = "fallback for chain";
+        Assertions.assertEquals(
+            fallback,
+            stats.trace(new Nullable<>("value for chain"))
+                .map(String::length)
+                .filter(value -> value > 100)
+                .map(String::valueOf)
+                .getOrGet(() -> fallback),
+            "Testing result of traced chain"
+        );
+        Assertions.assertEquals(
+            1,
+            stats.getRejected(),
+            "Testing rejected count"
+        );
+        Assertions.assertEquals(
+            1,
+            stats.getFallbacks(),
+            "Testing fallback count"
+        );
+        Assertions.assertEquals(
+            1,
+            stats.getMapperSamples(),
+            "Testing sampled mappers"
+        );
+        Assertions.assertEquals(
+            1,
+            stats.getFallbackSamples(),
+            "Testing sampled fallbacks"
+        );
+    }
+
+    @Test
+    public void testForMapOrGet() {
+        final NullableStats stats = new NullableStats("mapOrGet", true, 1);
+        final String fallback = "fallback for mapOrGet";
+        Assertions.assertEquals(
+            new Nullable<>(fallback),
+            stats.trace(new Nullable<String>(null)).mapOrGet(() -> fallback),
+            "Testing result of traced mapOrGet"
+        );
+        Assertions.assertEquals(
+            1,
+            stats.getFallbacks(),
+            "Testing fallback count for mapOrGet"
+        );
+    }
+
+    @Test
+    public void testForIllegalRate() {
+        Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> new NullableStats("illegal", true, 0),
+            "Testing illegal sampling rate"
+        );
+    }
+}
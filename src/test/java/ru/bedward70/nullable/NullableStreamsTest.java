@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableStreams}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableStreamsTest {
+
+    @Test
+    public void testForPresentOnly() {
+        Assertions.assertEquals(
+            Arrays.asList("first", "third"),
+            NullableStreams.presentOnly(NullableStreamsTest.source())
+                .collect(Collectors.toList()),
+            "Testing presentOnly"
+        );
+    }
+
+    @Test
+    public void testForMapPresent() {
+        Assertions.assertEquals(
+            Arrays.asList(
+                new Nullable<>(5),
+                new Nullable<>(null),
+                new Nullable<>(5),
+                new Nullable<>(null)
+            ),
+            NullableStreams.mapPresent(NullableStreamsTest.source(), String::length)
+                .collect(Collectors.toList()),
+            "Testing mapPresent"
+        );
+    }
+
+    @Test
+    public void testForFillAbsentAndCount() {
+        final LongAdder counter = new LongAdder();
+        final List<String> result = NullableStreams.presentOnly(
+            NullableStreams.fillAbsent(
+                NullableStreams.countAbsent(NullableStreamsTest.source(), counter),
+                () -> "other"
+            )
+        ).collect(Collectors.toList());
+        Assertions.assertEquals(
+            Arrays.asList("first", "other", "third", "other"),
+            result,
+            "Testing fillAbsent"
+        );
+        Assertions.assertEquals(
+            2,
+            counter.sum(),
+            "Testing countAbsent"
+        );
+    }
+
+    @Test
+    public void testForLaziness() {
+        final LongAdder counter = new LongAdder();
+        NullableStreams.countAbsent(NullableStreamsTest.source(), counter)
+            .limit(2)
+            .collect(Collectors.toList());
+        Assertions.assertEquals(
+            1,
+            counter.sum(),
+            "Testing countAbsent pulls only demanded elements"
+        );
+    }
+
+    @Test
+    public void testForCountOfSizedStream() {
+        final LongAdder counter = new LongAdder();
+        final long count = NullableStreams.countAbsent(
+            NullableStreamsTest.source(), counter
+        ).count();
+        Assertions.assertEquals(
+            4L,
+            count,
+            "Testing count of elements"
+        );
+        Assertions.assertEquals(
+            2,
+            counter.sum(),
+            "Testing countAbsent is not skipped by count"
+        );
+    }
+
+    private static Stream<Nullable<String>> source() {
+        return Stream.of(
+            new Nullable<>("first"),
+            new Nullable<>(null),
+            new Nullable<>("third"),
+            new Nullable<>(null)
+        );
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link NullableStringColumn}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class NullableStringColumnTest {
+
+    @Test
+    public void testForValues() {
+        final NullableStringColumn column = NullableStringColumnTest.column();
+        Assertions.assertEquals(
+            6,
+            column.size(),
+            "Testing size"
+        );
+        Assertions.assertEquals(
+            2,
+            column.cardinality(),
+            "Testing cardinality"
+        );
+        Assertions.assertEquals(
+            new Nullable<>("fr"),
+            column.get(2),
+            "Testing present row"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            column.get(1),
+            "Testing absent row"
+        );
+        Assertions.assertEquals(
+            "other",
+            column.getOr(4, "other"),
+            "Testing getOr for absent row"
+        );
+        Assertions.assertThrows(
+            IndexOutOfBoundsException.class,
+            () -> column.get(6),
+            "Testing row out of bounds"
+        );
+    }
+
+    @Test
+    public void testForEqualTo() {
+        final NullableStringColumn column = NullableStringColumnTest.column();
+        Assertions.assertArrayEquals(
+            new int[] {0, 3, 5},
+            column.equalTo("ru"),
+            "Testing equalTo"
+        );
+        Assertions.assertArrayEquals(
+            new int[0],
+            column.equalTo("de"),
+            "Testing equalTo for unknown value"
+        );
+    }
+
+    @Test
+    public void testForFilter() {
+        final NullableStringColumn column = NullableStringColumnTest.column();
+        final AtomicInteger countUsePredicate = new AtomicInteger();
+        Assertions.assertArrayEquals(
+            new int[] {2},
+            column.filter(
+                value -> {
+                    countUsePredicate.incrementAndGet();
+                    return value.startsWith("f");
+                }
+            ),
+            "Testing filter"
+        );
+        Assertions.assertEquals(
+            2,
+            countUsePredicate.get(),
+            "Testing predicate is tested once per distinct value"
+        );
+    }
+
+    @Test
+    public void testForMap() {
+        final NullableStringColumn mapped = NullableStringColumnTest.column()
+            .map(value -> "ru".equals(value) ? null : "europe");
+        Assertions.assertEquals(
+            1,
+            mapped.cardinality(),
+            "Testing cardinality of mapped column"
+        );
+        Assertions.assertArrayEquals(
+            new int[] {2},
+            mapped.equalTo("europe"),
+            "Testing mapped values"
+        );
+        Assertions.assertFalse(
+            mapped.isPresent(0),
+            "Testing mapping to null"
+        );
+    }
+
+    private static NullableStringColumn column() {
+        return new NullableStringColumn()
+            .append("ru")
+            .appendAbsent()
+            .append("fr")
+            .append(new Nullable<>("ru"))
+            .append(new Nullable<>(null))
+            .append("ru");
+    }
+}
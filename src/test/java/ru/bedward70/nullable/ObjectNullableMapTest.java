@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link ObjectNullableMap}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class ObjectNullableMapTest {
+
+    @Test
+    public void testForStates() {
+        final ObjectNullableMap<String, Integer> map =
+            new ObjectNullableMap<>();
+        map.put("one", 1);
+        map.put("none", (Integer) null);
+        Assertions.assertEquals(
+            1,
+            map.getOr("one", -1).intValue(),
+            "Testing present key"
+        );
+        Assertions.assertTrue(
+            map.contains("none") && !map.isPresent("none"),
+            "Testing known-absent key"
+        );
+        Assertions.assertFalse(
+            map.get("missing", new NullableCursor<>()).isPresent()
+                || map.contains("missing"),
+            "Testing missing key"
+        );
+        Assertions.assertThrows(
+            NullPointerException.class,
+            () -> map.put(null, 1),
+            "Testing null key"
+        );
+    }
+
+    @Test
+    public void testForRandomOperations() {
+        final ObjectNullableMap<String, Long> map = new ObjectNullableMap<>(0);
+        final Map<String, Nullable<Long>> expected = new HashMap<>();
+        final Random random = new Random(42L);
+        for (int idx = 0; idx < 100_000; ++idx) {
+            final long number = random.nextInt(5_000);
+            final String key = Long.toString(number);
+            final int operation = random.nextInt(3);
+            if (operation == 0) {
+                Assertions.assertEquals(
+                    expected.remove(key) != null,
+                    map.remove(key),
+                    "Testing remove"
+                );
+            } else {
+                final Nullable<Long> value = Nullable.of(
+                    operation == 1 ? number : null
+                );
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+        Assertions.assertEquals(
+            expected.size(),
+            map.size(),
+            "Testing size"
+        );
+        for (long number = 0L; number < 5_000L; ++number) {
+            final String key = Long.toString(number);
+            Assertions.assertEquals(
+                expected.containsKey(key),
+                map.contains(key),
+                "Testing known key"
+            );
+            Assertions.assertEquals(
+                expected.getOrDefault(key, Nullable.empty()).get(),
+                map.getOr(key, null),
+                "Testing value of key"
+            );
+        }
+    }
+}
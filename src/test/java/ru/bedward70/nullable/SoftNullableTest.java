@@ -0,0 +1,165 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2019 Eduard Balovnev (bedward70)
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package ru.bedward70.nullable;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test cases for {@link SoftNullable}.
+ * @since 0.02
+ * @checkstyle JavadocMethodCheck (500 lines)
+ * @checkstyle LocalFinalVariableNameCheck (500 lines)
+ */
+public final class SoftNullableTest {
+
+    @Test
+    public void testForNull() {
+        final SoftNullable<String> n = new SoftNullable<>();
+        Assertions.assertFalse(
+            n.isPresent(),
+            "Testing isPresent for null case"
+        );
+        Assertions.assertEquals(
+            "other",
+            n.getOr("other"),
+            "Testing getOr for null case"
+        );
+        Assertions.assertSame(
+            Nullable.empty(),
+            n.snapshot(),
+            "Testing snapshot for null case"
+        );
+    }
+
+    @Test
+    public void testForGetOrGet() {
+        final SoftNullable<String> n = new SoftNullable<>();
+        final AtomicInteger countUseSupplier = new AtomicInteger();
+        final String value = "value for getOrGet";
+        for (int idx = 0; idx < 2; ++idx) {
+            Assertions.assertSame(
+                value,
+                n.getOrGet(
+                    () -> {
+                        countUseSupplier.incrementAndGet();
+                        return value;
+                    }
+                ),
+                "Testing getOrGet result"
+            );
+        }
+        Assertions.assertEquals(
+            1,
+            countUseSupplier.get(),
+            "Testing getOrGet caches the value"
+        );
+    }
+
+    @Test
+    public void testForCleared() {
+        final List<Reference<String>> references = new ArrayList<>(1);
+        final AtomicInteger countUseHook = new AtomicInteger();
+        final SoftNullable<String> n = new SoftNullable<>(
+            (value, queue) -> {
+                final Reference<String> ref = new SoftReference<>(value, queue);
+                references.add(ref);
+                return ref;
+            },
+            countUseHook::incrementAndGet
+        );
+        n.set("value for cleared");
+        Assertions.assertTrue(
+            n.isPresent(),
+            "Testing isPresent before clearing"
+        );
+        references.get(0).clear();
+        references.get(0).enqueue();
+        Assertions.assertFalse(
+            n.isPresent(),
+            "Testing isPresent after clearing"
+        );
+        Assertions.assertEquals(
+            1,
+            n.clears(),
+            "Testing count of clears"
+        );
+        Assertions.assertEquals(
+            1,
+            countUseHook.get(),
+            "Testing count of hook runs"
+        );
+        Assertions.assertEquals(
+            new Nullable<>("recomputed"),
+            n.mapOrGet(() -> "recomputed"),
+            "Testing mapOrGet after clearing"
+        );
+        Assertions.assertEquals(
+            "recomputed",
+            n.get(),
+            "Testing mapOrGet caches the value"
+        );
+    }
+
+    @Test
+    public void testForReplaced() throws InterruptedException {
+        final List<Reference<String>> references = new ArrayList<>(2);
+        final AtomicInteger countUseHook = new AtomicInteger();
+        final SoftNullable<String> n = new SoftNullable<>(
+            (value, queue) -> {
+                final Reference<String> ref = new WeakReference<>(value, queue);
+                references.add(ref);
+                return ref;
+            },
+            countUseHook::incrementAndGet
+        );
+        final String second = new StringBuilder("second value").toString();
+        n.set(new StringBuilder("first value").toString()).set(second);
+        Assertions.assertNull(
+            references.get(0).get(),
+            "Testing reference to the replaced value is cleared"
+        );
+        for (int idx = 0; idx < 3; ++idx) {
+            System.gc();
+            Thread.sleep(10L);
+        }
+        Assertions.assertEquals(
+            0,
+            n.clears(),
+            "Testing replaced value does not count as a clear"
+        );
+        Assertions.assertEquals(
+            0,
+            countUseHook.get(),
+            "Testing hook skipped for replaced value"
+        );
+        Assertions.assertSame(second, n.get(), "Testing current value");
+    }
+}